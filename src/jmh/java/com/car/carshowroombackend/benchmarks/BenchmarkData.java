@@ -0,0 +1,72 @@
+package com.car.carshowroombackend.benchmarks;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.entity.Car;
+import com.car.carshowroombackend.entity.CarShowroom;
+import com.car.carshowroombackend.entity.User;
+import com.car.carshowroombackend.enums.UserRole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures shared by the benchmarks, shaped like the rows of a typical inventory.
+ */
+final class BenchmarkData {
+
+    private static final String[] MAKERS = {"Toyota", "Ford", "BMW", "Mercedes-Benz", "Hyundai", "Kia", "Nissan"};
+
+    private static final String[] MODELS = {"Corolla", "Focus", "X5", "C-Class", "Elantra", "Sportage", "Altima"};
+
+    private BenchmarkData() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("manager@test.com");
+        user.setName("Showroom Manager");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOa9Lsxf0mUV2fDLc0qPJVD8.gDxQYkTK");
+        user.setUserRole(UserRole.USER);
+        user.setEnabled(true);
+        user.setSecurityEpoch(3);
+        return user;
+    }
+
+    static CarShowroom showroom(User user) {
+        CarShowroom showroom = new CarShowroom();
+        showroom.setId(7L);
+        showroom.setName("Downtown Motors");
+        showroom.setCommercialRegistrationNumber("1234567890");
+        showroom.setManagerName("Jane Doe");
+        showroom.setContactNumber("0501234567");
+        showroom.setAddress("1 Main Street");
+        showroom.setUser(user);
+        return showroom;
+    }
+
+    static Car car(long id, CarShowroom showroom, User user) {
+        Car car = new Car();
+        car.setId(id);
+        car.setVin("1HGCM82633A" + String.format("%06d", id % 1_000_000));
+        car.setMaker(MAKERS[(int) (id % MAKERS.length)]);
+        car.setModel(MODELS[(int) (id % MODELS.length)]);
+        car.setModelYear(2010 + (int) (id % 15));
+        car.setPrice(BigDecimal.valueOf(15_000 + (id * 37) % 60_000, 0));
+        car.setCarShowroom(showroom);
+        car.setCarShowroomName(showroom.getName());
+        car.setUser(user);
+        return car;
+    }
+
+    static List<CarDTO> carDtos(int count) {
+        User user = user();
+        CarShowroom showroom = showroom(user);
+        List<CarDTO> dtos = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            dtos.add(car(id, showroom, user).getDto());
+        }
+        return dtos;
+    }
+}
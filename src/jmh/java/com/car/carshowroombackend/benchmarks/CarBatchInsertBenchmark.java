@@ -0,0 +1,143 @@
+package com.car.carshowroombackend.benchmarks;
+
+import com.car.carshowroombackend.entity.Car;
+import com.car.carshowroombackend.entity.CarShowroom;
+import com.car.carshowroombackend.entity.User;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting a batch of cars in one transaction as {@code CarServiceImpl.createCars} does, against an embedded
+ * PostgreSQL migrated by Flyway: one INSERT round trip per car, JDBC batches of 50, and JDBC batches the driver
+ * rewrites into multi-row INSERTs, which is the configuration the application ships with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class CarBatchInsertBenchmark {
+
+    @Param({"single", "batched", "rewritten"})
+    private String mode;
+
+    @Param({"500"})
+    private int cars;
+
+    private EmbeddedPostgres postgres;
+
+    private StandardServiceRegistry registry;
+
+    private SessionFactory sessionFactory;
+
+    private long userId;
+
+    private long showroomId;
+
+    @Setup
+    public void setup() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).locations("classpath:db.migration").load()
+                .migrate();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            userId = insertReturningId(statement, """
+                    INSERT INTO users (email, password, name, user_role, enabled)
+                    VALUES ('manager@test.com', 'not-a-hash', 'Showroom Manager', 'USER', TRUE) RETURNING id
+                    """);
+            showroomId = insertReturningId(statement, """
+                    INSERT INTO car_showroom (name, commercial_registration_number, manager_name, contact_number,
+                                              address, user_id)
+                    VALUES ('Downtown Motors', '1234567890', 'Jane Doe', '0501234567', '1 Main Street', %d)
+                    RETURNING id
+                    """.formatted(userId));
+        }
+
+        String url = postgres.getJdbcUrl("postgres", "postgres");
+        if ("rewritten".equals(mode)) {
+            url += "&reWriteBatchedInserts=true";
+        }
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "postgres")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "postgres")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, "single".equals(mode) ? 0 : 50)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Car.class)
+                .addAnnotatedClass(CarShowroom.class)
+                .addAnnotatedClass(User.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE car");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        postgres.close();
+    }
+
+    @Benchmark
+    public int persistCars() {
+        return sessionFactory.fromTransaction(session -> {
+            User user = session.getReference(User.class, userId);
+            CarShowroom showroom = session.getReference(CarShowroom.class, showroomId);
+            for (int i = 0; i < cars; i++) {
+                Car car = new Car();
+                car.setVin("1HGCM82633A" + String.format("%06d", i));
+                car.setMaker("Toyota");
+                car.setModel("Corolla");
+                car.setModelYear(2010 + i % 15);
+                car.setPrice(BigDecimal.valueOf(15_000 + i));
+                car.setCarShowroom(showroom);
+                car.setCarShowroomName("Downtown Motors");
+                car.setUser(user);
+                session.persist(car);
+            }
+            session.flush();
+            return cars;
+        });
+    }
+
+    private static long insertReturningId(Statement statement, String sql) throws Exception {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.car.carshowroombackend.benchmarks;
+
+import com.car.carshowroombackend.entity.Car;
+import com.car.carshowroombackend.entity.CarShowroom;
+import com.car.carshowroombackend.entity.User;
+import com.car.carshowroombackend.services.car.CarSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the car listing filter as {@code CarServiceImpl.listCars} does: the specification and the criteria
+ * predicates it produces. Hibernate is bootstrapped against the entity model only, without a database connection,
+ * so the numbers exclude SQL rendering and execution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarSpecificationBenchmark {
+
+    private StandardServiceRegistry registry;
+
+    private SessionFactory sessionFactory;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setup() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", false)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Car.class)
+                .addAnnotatedClass(CarShowroom.class)
+                .addAnnotatedClass(User.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public Specification<Car> buildSpecification() {
+        return CarSpecifications.listing("Toyota", "Downtown Motors", null, 2020);
+    }
+
+    @Benchmark
+    public Predicate buildPredicateUnfiltered() {
+        return toPredicate(CarSpecifications.listing(null, null, null, null));
+    }
+
+    @Benchmark
+    public Predicate buildPredicateAllFilters() {
+        return toPredicate(CarSpecifications.listing("Toyota", "Downtown Motors", "1HGCM82633A000001", 2020));
+    }
+
+    private Predicate toPredicate(Specification<Car> spec) {
+        CriteriaQuery<Car> query = criteriaBuilder.createQuery(Car.class);
+        Root<Car> root = query.from(Car.class);
+        return spec.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,52 @@
+package com.car.carshowroombackend.benchmarks;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+import com.car.carshowroombackend.entity.Car;
+import com.car.carshowroombackend.entity.CarShowroom;
+import com.car.carshowroombackend.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping, run once per row of every listing that is not projected in the query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private Car car;
+
+    private CarShowroom showroom;
+
+    @Setup
+    public void setup() {
+        User user = BenchmarkData.user();
+        showroom = BenchmarkData.showroom(user);
+        car = BenchmarkData.car(1L, showroom, user);
+    }
+
+    @Benchmark
+    public CarDTO carGetDto() {
+        return car.getDto();
+    }
+
+    @Benchmark
+    public CarShowroomDTO carShowroomGetDto() {
+        return showroom.getDto();
+    }
+}
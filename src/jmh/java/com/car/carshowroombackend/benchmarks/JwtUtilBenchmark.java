@@ -0,0 +1,91 @@
+package com.car.carshowroombackend.benchmarks;
+
+import com.car.carshowroombackend.entity.User;
+import com.car.carshowroombackend.utill.JwtUtil;
+import com.car.carshowroombackend.utill.VerifiedClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification, the work done by every login and every authenticated request.
+ * Verification is measured both through the verified-token cache and as a full parse and signature check,
+ * next to {@link #legacyPerRequest()}, the work the filter did per request before tokens were parsed once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private User user;
+
+    private String token;
+
+    // JwtUtil.parse is private; reached through a method handle to measure a cache miss
+    private MethodHandle parse;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        jwtUtil = new JwtUtil();
+        user = BenchmarkData.user();
+        token = jwtUtil.generateToken(user);
+        parse = MethodHandles.privateLookupIn(JwtUtil.class, MethodHandles.lookup())
+                .findVirtual(JwtUtil.class, "parse", MethodType.methodType(VerifiedClaims.class, String.class));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return jwtUtil.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public VerifiedClaims parseAndVerify() throws Throwable {
+        return (VerifiedClaims) parse.invokeExact(jwtUtil, token);
+    }
+
+    /**
+     * The former filter path: extractUserName, then isTokenValid parsing the token again for the subject and the
+     * expiration, each parse decoding the secret and building a new parser.
+     */
+    @Benchmark
+    public boolean legacyPerRequest() {
+        String userName = legacyClaims(token).getSubject();
+        return userName.equals(user.getUsername())
+                && legacyClaims(token).getSubject().equals(user.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(
+                "413F4428472B4B6250655368566D5970337336763979244226452948404D6351"));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,155 @@
+package com.car.carshowroombackend.benchmarks;
+
+import com.car.carshowroombackend.configs.ControllerMetricsInterceptor;
+import com.car.carshowroombackend.configs.RequestSqlStatistics;
+import com.car.carshowroombackend.entity.Car;
+import com.car.carshowroombackend.entity.CarShowroom;
+import com.car.carshowroombackend.entity.User;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics added to every request, on a Prometheus registry configured with the same histograms as the
+ * application: the controller interceptor around a handler, the JWT validation timer and the per-thread SQL
+ * counting of the Hibernate statistics, each next to the same work without it.
+ * Run on four threads so contention on the shared meters shows up; the results are in nanoseconds,
+ * against request latencies in the milliseconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private PrometheusMeterRegistry meterRegistry;
+
+    private ControllerMetricsInterceptor interceptor;
+
+    private HandlerMethod handler;
+
+    private Timer jwtTimer;
+
+    private StandardServiceRegistry serviceRegistry;
+
+    private SessionFactory sessionFactory;
+
+    private StatisticsImpl stockStatistics;
+
+    private RequestSqlStatistics requestStatistics;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        interceptor = new ControllerMetricsInterceptor(meterRegistry);
+        handler = new HandlerMethod(new Handler(), Handler.class.getMethod("handle"));
+        jwtTimer = Timer.builder("jwt.validation").tag("result", "valid").register(meterRegistry);
+
+        serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", false)
+                .build();
+        sessionFactory = new MetadataSources(serviceRegistry)
+                .addAnnotatedClass(Car.class)
+                .addAnnotatedClass(CarShowroom.class)
+                .addAnnotatedClass(User.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        SessionFactoryImplementor implementor = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        stockStatistics = new StatisticsImpl(implementor);
+        requestStatistics = new RequestSqlStatistics(implementor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(serviceRegistry);
+        meterRegistry.close();
+    }
+
+    @Benchmark
+    public Object requestWithoutInterceptor(RequestState request) {
+        return request.request.getAttribute("started");
+    }
+
+    @Benchmark
+    public Object requestWithInterceptor(RequestState request) {
+        interceptor.preHandle(request.request, request.response, handler);
+        interceptor.afterCompletion(request.request, request.response, handler, null);
+        return request.request.getAttribute("started");
+    }
+
+    @Benchmark
+    public long jwtValidationTimer() {
+        long started = System.nanoTime();
+        jwtTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return started;
+    }
+
+    @Benchmark
+    public void stockStatementStatistics() {
+        stockStatistics.prepareStatement();
+        stockStatistics.queryExecuted("from Car", 20, 1);
+    }
+
+    @Benchmark
+    public void requestStatementStatistics() {
+        requestStatistics.prepareStatement();
+        requestStatistics.queryExecuted("from Car", 20, 1);
+    }
+
+    /**
+     * One request and response per thread, reused across invocations as the servlet container would recycle them.
+     */
+    @State(Scope.Thread)
+    public static class RequestState {
+
+        private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/car");
+
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    public static class Handler {
+
+        public String handle() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.car.carshowroombackend.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the schema with synthetic users, showrooms and cars over the COPY protocol, then moves the id
+ * sequences past the copied ids.
+ * <p>
+ * The rows follow skewed distributions rather than uniform ones: makers, models, showroom sizes, showroom owners
+ * and vehicle ages are Zipfian, prices are log-normal around a per-maker base and depreciate with age, and a
+ * share of users, showrooms and cars is disabled or soft deleted. Cars are generated in fixed blocks, each from
+ * its own seed, and the blocks are spread over parallel COPY streams, so the data depends on the seed only.
+ */
+final class DataGenerator {
+
+    static final int NEWEST_MODEL_YEAR = 2025;
+
+    static final int OLDEST_MODEL_YEAR = NEWEST_MODEL_YEAR - 24;
+
+    // Makers by popularity rank, with their models by popularity and a typical new car price
+    private static final List<Maker> CATALOG = List.of(
+            new Maker("Toyota", 32_000, "Corolla", "Camry", "RAV4", "Land Cruiser", "Hilux", "Yaris"),
+            new Maker("Hyundai", 26_000, "Elantra", "Tucson", "Sonata", "Accent", "Santa Fe"),
+            new Maker("Nissan", 28_000, "Altima", "Sunny", "Patrol", "X-Trail", "Kicks"),
+            new Maker("Kia", 25_000, "Sportage", "Cerato", "Sorento", "Picanto", "K5"),
+            new Maker("Ford", 34_000, "F-150", "Explorer", "Focus", "Mustang", "Ranger"),
+            new Maker("Chevrolet", 33_000, "Tahoe", "Malibu", "Silverado", "Captiva", "Spark"),
+            new Maker("Honda", 29_000, "Civic", "Accord", "CR-V", "Pilot", "City"),
+            new Maker("Mercedes-Benz", 62_000, "C-Class", "E-Class", "GLE", "S-Class", "G-Class"),
+            new Maker("BMW", 58_000, "3 Series", "5 Series", "X5", "X3", "7 Series"),
+            new Maker("Lexus", 55_000, "RX", "ES", "LX", "NX", "IS"),
+            new Maker("GMC", 48_000, "Yukon", "Sierra", "Acadia", "Terrain"),
+            new Maker("Mitsubishi", 24_000, "Pajero", "Lancer", "Outlander", "Attrage"),
+            new Maker("Volkswagen", 30_000, "Golf", "Passat", "Tiguan", "Touareg", "Jetta"),
+            new Maker("Audi", 52_000, "A4", "A6", "Q5", "Q7", "A3"),
+            new Maker("Mazda", 27_000, "CX-5", "Mazda3", "Mazda6", "CX-9"),
+            new Maker("Dodge", 38_000, "Charger", "Durango", "Challenger", "Ram"),
+            new Maker("Jeep", 40_000, "Wrangler", "Grand Cherokee", "Compass", "Cherokee"),
+            new Maker("Land Rover", 75_000, "Range Rover", "Defender", "Discovery", "Evoque"),
+            new Maker("Porsche", 95_000, "Cayenne", "911", "Macan", "Panamera"),
+            new Maker("Tesla", 50_000, "Model 3", "Model Y", "Model S", "Model X"),
+            new Maker("Changan", 20_000, "CS35", "CS75", "Eado", "UNI-K"),
+            new Maker("Geely", 21_000, "Coolray", "Emgrand", "Tugella", "Monjaro"),
+            new Maker("MG", 19_000, "MG5", "ZS", "HS", "RX5"),
+            new Maker("Chery", 18_000, "Tiggo 7", "Tiggo 8", "Arrizo 6"),
+            new Maker("Peugeot", 26_000, "208", "308", "3008", "5008"),
+            new Maker("Renault", 22_000, "Duster", "Megane", "Koleos", "Symbol"),
+            new Maker("Suzuki", 17_000, "Swift", "Dzire", "Vitara", "Jimny"),
+            new Maker("Infiniti", 50_000, "QX60", "QX80", "Q50"),
+            new Maker("Cadillac", 65_000, "Escalade", "CT5", "XT5"),
+            new Maker("Lincoln", 60_000, "Navigator", "Aviator", "Corsair"),
+            new Maker("Volvo", 48_000, "XC90", "XC60", "S60", "XC40"),
+            new Maker("Genesis", 52_000, "G80", "GV80", "G70"),
+            new Maker("Subaru", 29_000, "Forester", "Outback", "Impreza"),
+            new Maker("Isuzu", 27_000, "D-Max", "MU-X"),
+            new Maker("Mini", 33_000, "Cooper", "Countryman"),
+            new Maker("Jaguar", 62_000, "F-Pace", "XF", "E-Pace"),
+            new Maker("Maserati", 98_000, "Ghibli", "Levante", "Quattroporte"),
+            new Maker("Bentley", 210_000, "Bentayga", "Continental GT", "Flying Spur"),
+            new Maker("Rolls-Royce", 380_000, "Cullinan", "Ghost", "Phantom"),
+            new Maker("Ferrari", 290_000, "Roma", "296 GTB", "Purosangue"));
+
+    static final List<String> MAKERS = CATALOG.stream().map(Maker::name).toList();
+
+    private static final int FIRST_ID = 1_000;
+
+    // Cars are generated in blocks of this size; every block has its own seed whichever stream copies it
+    private static final int BLOCK_SIZE = 50_000;
+
+    private final DataSource dataSource;
+
+    private final GeneratorOptions options;
+
+    DataGenerator(DataSource dataSource, GeneratorOptions options) {
+        this.dataSource = dataSource;
+        this.options = options;
+    }
+
+    /**
+     * Generates and copies all rows. Expects the migrated schema with empty users, car_showroom and car tables.
+     */
+    SeededData generate() throws SQLException, IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        Users users = copyUsers(random);
+        Showrooms showrooms = copyShowrooms(random, users);
+
+        List<String> deferred = options.deferIndexes() ? dropCarIndexes() : List.of();
+        try {
+            copyCars(showrooms);
+        } finally {
+            // Put the indexes and foreign keys back even when a stream fails
+            restore(deferred);
+        }
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval('users_id_seq', (SELECT max(id) FROM users))");
+            statement.execute("SELECT setval('car_showroom_id_seq', (SELECT max(id) FROM car_showroom))");
+            statement.execute("SELECT setval('car_id_seq', (SELECT max(id) FROM car))");
+            statement.execute("ANALYZE users, car_showroom, car");
+        }
+        return showrooms.seededData(users);
+    }
+
+    private Users copyUsers(SplittableRandom random) throws SQLException, IOException {
+        // Every user shares one hash, computing a BCrypt hash per row would dominate the generation time
+        String passwordHash = new BCryptPasswordEncoder().encode(SeededData.PASSWORD);
+        Users users = new Users(options.users());
+
+        try (Connection connection = dataSource.getConnection()) {
+            copy(connection, "COPY users (id, email, password, name, user_role, enabled) FROM STDIN (FORMAT csv)",
+                    writer -> {
+                        for (int i = 0; i < users.ids.length; i++) {
+                            users.ids[i] = FIRST_ID + i;
+                            users.enabled[i] = random.nextDouble() >= options.disabledUserRatio();
+                            writer.write(users.ids[i] + "," + SeededData.email(users.ids[i]) + "," + passwordHash
+                                    + ",Load User " + users.ids[i] + ",USER," + users.enabled[i] + "\n");
+                        }
+                    });
+        }
+        return users;
+    }
+
+    private Showrooms copyShowrooms(SplittableRandom random, Users users) throws SQLException, IOException {
+        Showrooms showrooms = new Showrooms(options.showrooms());
+        // A few users own many showrooms, most own one or none
+        ZipfSampler owners = new ZipfSampler(users.ids.length, 1.1);
+        int[] ownerRanks = permutation(users.ids.length, random);
+
+        try (Connection connection = dataSource.getConnection()) {
+            copy(connection, "COPY car_showroom (id, name, commercial_registration_number, manager_name, "
+                    + "contact_number, address, is_deleted, user_id) FROM STDIN (FORMAT csv)", writer -> {
+                for (int i = 0; i < showrooms.ids.length; i++) {
+                    showrooms.ids[i] = FIRST_ID + i;
+                    showrooms.names[i] = "Showroom " + showrooms.ids[i];
+                    showrooms.owners[i] = users.ids[ownerRanks[owners.sample(random)]];
+                    showrooms.deleted[i] = random.nextDouble() < options.deletedShowroomRatio();
+                    writer.write(showrooms.ids[i] + "," + showrooms.names[i] + ","
+                            + String.format("%010d", showrooms.ids[i]) + ",Manager " + i + ",05"
+                            + String.format("%08d", i) + ",Street " + i + "," + showrooms.deleted[i] + ","
+                            + showrooms.owners[i] + "\n");
+                }
+            });
+        }
+        // Showroom sizes are Zipfian too; ranks are shuffled so the largest showrooms are not the first ids
+        showrooms.byRank = permutation(showrooms.ids.length, random);
+        return showrooms;
+    }
+
+    private void copyCars(Showrooms showrooms) throws SQLException, InterruptedException {
+        int blocks = (options.cars() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        AtomicInteger nextBlock = new AtomicInteger();
+        ZipfSampler showroomSizes = new ZipfSampler(showrooms.ids.length, 0.9);
+        ZipfSampler makers = new ZipfSampler(CATALOG.size(), 1.0);
+        ZipfSampler ages = new ZipfSampler(NEWEST_MODEL_YEAR - OLDEST_MODEL_YEAR + 1, 0.7);
+
+        List<Future<Void>> streams = new ArrayList<>(options.threads());
+        try (ExecutorService executor = Executors.newFixedThreadPool(options.threads())) {
+            for (int i = 0; i < options.threads(); i++) {
+                streams.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        copy(connection, "COPY car (id, vin, maker, model, model_year, price, is_deleted, "
+                                + "car_showroom_id, car_showroom_name, user_id) FROM STDIN (FORMAT csv)", writer -> {
+                            for (int block = nextBlock.getAndIncrement(); block < blocks;
+                                 block = nextBlock.getAndIncrement()) {
+                                writeCars(writer, block, showrooms, showroomSizes, makers, ages);
+                            }
+                        });
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<Void> stream : streams) {
+            try {
+                stream.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Copying cars failed", e.getCause());
+            }
+        }
+    }
+
+    private void writeCars(Writer writer, int block, Showrooms showrooms, ZipfSampler showroomSizes,
+                           ZipfSampler makers, ZipfSampler ages) throws IOException {
+        SplittableRandom random = new SplittableRandom(options.seed() ^ (0x9E3779B97F4A7C15L * (block + 1)));
+        int from = block * BLOCK_SIZE;
+        int to = Math.min(from + BLOCK_SIZE, options.cars());
+        StringBuilder row = new StringBuilder(128);
+
+        for (int i = from; i < to; i++) {
+            long id = FIRST_ID + i;
+            int showroom = showrooms.byRank[showroomSizes.sample(random)];
+            Maker maker = CATALOG.get(makers.sample(random));
+            String model = maker.models().get(maker.modelSampler().sample(random));
+            int age = ages.sample(random);
+            // Log-normal spread around the maker's base price, losing about 12% of the value per year
+            long price = Math.max(1_000, Math.round(maker.basePrice() * Math.exp(0.35 * gaussian(random))
+                    * Math.pow(0.88, age) / 10) * 10);
+            boolean deleted = showrooms.deleted[showroom] || random.nextDouble() < options.deletedCarRatio();
+
+            row.setLength(0);
+            row.append(id).append(",LT").append(Long.toString(id, 36).toUpperCase()).append(',')
+                    .append(maker.name()).append(',').append(model).append(',')
+                    .append(NEWEST_MODEL_YEAR - age).append(',').append(price).append(',').append(deleted).append(',')
+                    .append(showrooms.ids[showroom]).append(',').append(showrooms.names[showroom]).append(',')
+                    .append(showrooms.owners[showroom]).append('\n');
+            writer.append(row);
+        }
+    }
+
+    /**
+     * Drops the secondary indexes and foreign keys of car, returning the statements that restore them. Building
+     * them once over the loaded rows is much cheaper than maintaining them row by row during the COPY.
+     */
+    private List<String> dropCarIndexes() throws SQLException {
+        List<String> restore = new ArrayList<>();
+        List<String> drop = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("SELECT c.relname, pg_get_indexdef(i.indexrelid) "
+                    + "FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                    + "WHERE i.indrelid = 'car'::regclass AND NOT i.indisprimary")) {
+                while (rows.next()) {
+                    drop.add("DROP INDEX " + rows.getString(1));
+                    restore.add(rows.getString(2));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT conname, pg_get_constraintdef(oid) "
+                    + "FROM pg_constraint WHERE conrelid = 'car'::regclass AND contype = 'f'")) {
+                while (rows.next()) {
+                    drop.add("ALTER TABLE car DROP CONSTRAINT " + rows.getString(1));
+                    restore.add("ALTER TABLE car ADD CONSTRAINT " + rows.getString(1) + " " + rows.getString(2));
+                }
+            }
+            for (String sql : drop) {
+                statement.execute(sql);
+            }
+        }
+        return restore;
+    }
+
+    /**
+     * Runs the restore statements in parallel, one connection each.
+     */
+    private void restore(List<String> statements) throws SQLException, InterruptedException {
+        List<Future<Void>> futures = new ArrayList<>(statements.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, options.threads()))) {
+            for (String sql : statements) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        statement.execute(sql);
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Restoring the car indexes failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Copies the rows in one transaction. The connection is handed back with its own commit settings.
+     */
+    private static void copy(Connection connection, String sql, RowWriter rows) throws SQLException, IOException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                // The data can be generated again from the seed, waiting for the WAL flush buys nothing;
+                // SET LOCAL ends with the transaction, so a pooled connection does not keep it
+                statement.execute("SET LOCAL synchronous_commit = off");
+            }
+            PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)) {
+                rows.write(writer);
+            }
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static int[] permutation(int n, SplittableRandom random) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian that is stable across JDK versions
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(Writer writer) throws IOException;
+    }
+
+    private record Maker(String name, int basePrice, List<String> models, ZipfSampler modelSampler) {
+
+        Maker(String name, int basePrice, String... models) {
+            this(name, basePrice, List.of(models), new ZipfSampler(models.length, 1.0));
+        }
+    }
+
+    private static final class Users {
+
+        final long[] ids;
+
+        final boolean[] enabled;
+
+        Users(int count) {
+            ids = new long[count];
+            enabled = new boolean[count];
+        }
+    }
+
+    private static final class Showrooms {
+
+        final long[] ids;
+
+        final String[] names;
+
+        final long[] owners;
+
+        final boolean[] deleted;
+
+        int[] byRank;
+
+        Showrooms(int count) {
+            ids = new long[count];
+            names = new String[count];
+            owners = new long[count];
+            deleted = new boolean[count];
+        }
+
+        SeededData seededData(Users users) {
+            List<Long> userIds = new ArrayList<>();
+            for (int i = 0; i < users.ids.length; i++) {
+                if (users.enabled[i]) {
+                    userIds.add(users.ids[i]);
+                }
+            }
+            List<Integer> active = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (!deleted[i]) {
+                    active.add(i);
+                }
+            }
+            return new SeededData(userIds.stream().mapToLong(Long::longValue).toArray(),
+                    active.stream().mapToLong(i -> ids[i]).toArray(),
+                    active.stream().map(i -> names[i]).toArray(String[]::new), MAKERS);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.car.carshowroombackend.loadtest;
+
+/**
+ * Endpoints whose latency is recorded separately.
+ */
+enum Endpoint {
+
+    LOGIN("POST /api/auth/login"),
+    LIST_CARS("GET /api/user/car"),
+    GET_SHOWROOM("GET /api/user/car-showrooms/{id}"),
+    DROPDOWN("GET /api/user/car-showrooms/all"),
+    CREATE_CAR("POST /api/user/car"),
+    DELETE_CAR("DELETE /api/user/car/{id}"),
+    ADMIN_STATS("GET /api/admin/stats"),
+    FUZZY_SEARCH("GET /api/user/search/cars/fuzzy");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,39 @@
+package com.car.carshowroombackend.loadtest;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.util.Map;
+
+/**
+ * Fills a PostgreSQL database with a synthetic data set, for reproducing production scale outside production.
+ * The schema is migrated first; the users, car_showroom and car tables are expected to be empty.
+ * <p>
+ * Run with {@code mvn -Pload-test verify -DskipTests -Dload.main=com.car.carshowroombackend.loadtest.GenerateData
+ * -Dload.args="--url=jdbc:postgresql://localhost:5432/carshowroomsdb --cars=10000000"}. Options:
+ * {@code --url}, {@code --username}, {@code --password}, {@code --users}, {@code --showrooms}, {@code --cars},
+ * {@code --seed}, {@code --threads}, {@code --deleted-car-ratio}, {@code --deleted-showroom-ratio},
+ * {@code --disabled-user-ratio} and {@code --defer-indexes}.
+ */
+public final class GenerateData {
+
+    private GenerateData() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = Arguments.parse(args);
+        GeneratorOptions options = GeneratorOptions.from(values);
+
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(values.getOrDefault("url", "jdbc:postgresql://localhost:5432/carshowroomsdb"));
+        dataSource.setUser(values.getOrDefault("username", "postgres"));
+        dataSource.setPassword(values.getOrDefault("password", "postgres"));
+        Flyway.configure().dataSource(dataSource).locations("classpath:db.migration").load().migrate();
+
+        long started = System.nanoTime();
+        new DataGenerator(dataSource, options).generate();
+        System.out.printf("Generated %d users, %d showrooms and %d cars with seed %d on %d streams in %d ms%n",
+                options.users(), options.showrooms(), options.cars(), options.seed(), options.threads(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,35 @@
+package com.car.carshowroombackend.loadtest;
+
+import java.util.Map;
+
+/**
+ * Size and shape of a generated data set. The same options and seed always produce the same rows,
+ * whatever the number of threads.
+ *
+ * @param users                Number of users.
+ * @param showrooms            Number of showrooms.
+ * @param cars                 Number of cars.
+ * @param seed                 Seed of every random draw.
+ * @param threads              Number of COPY streams loading the cars in parallel.
+ * @param deletedCarRatio      Share of cars soft deleted on their own.
+ * @param deletedShowroomRatio Share of showrooms soft deleted, together with all of their cars.
+ * @param disabledUserRatio    Share of users disabled.
+ * @param deferIndexes         Whether the secondary car indexes are dropped during the load and rebuilt after it.
+ */
+record GeneratorOptions(int users, int showrooms, int cars, long seed, int threads, double deletedCarRatio,
+                        double deletedShowroomRatio, double disabledUserRatio, boolean deferIndexes) {
+
+    static GeneratorOptions from(Map<String, String> values) {
+        return new GeneratorOptions(
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Integer.parseInt(values.getOrDefault("showrooms", "200")),
+                Integer.parseInt(values.getOrDefault("cars", "100000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("threads",
+                        String.valueOf(Math.max(2, Runtime.getRuntime().availableProcessors())))),
+                Double.parseDouble(values.getOrDefault("deleted-car-ratio", "0.08")),
+                Double.parseDouble(values.getOrDefault("deleted-showroom-ratio", "0.02")),
+                Double.parseDouble(values.getOrDefault("disabled-user-ratio", "0.03")),
+                Boolean.parseBoolean(values.getOrDefault("defer-indexes", "true")));
+    }
+}
@@ -0,0 +1,321 @@
+package com.car.carshowroombackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives the running application with a closed-loop workload: every client is a virtual thread issuing one
+ * request at a time, picking its next scenario from the configured mix. Latencies of the measured phase are
+ * recorded per endpoint in microseconds, in per-client histograms merged at the end, so recording never contends.
+ * <p>
+ * A closed loop only sends the next request once the previous one is answered, so while the application stalls
+ * the requests it would have received are never issued: the percentiles are response times of the requests sent,
+ * not corrected for this coordinated omission, and understate the latency an open stream of users would see.
+ */
+final class LoadDriver {
+
+    // Latencies above this are clamped; a minute is far beyond anything worth distinguishing
+    private static final long HIGHEST_TRACKABLE_MICROS = Duration.ofMinutes(1).toNanos() / 1_000;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+
+    private final LoadTestOptions options;
+
+    private final SeededData data;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient;
+
+    LoadDriver(int port, LoadTestOptions options, SeededData data) {
+        this.baseUri = URI.create("http://localhost:" + port);
+        this.options = options;
+        this.data = data;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Runs the warmup and the measured phase with all clients and returns the merged results.
+     */
+    LoadResult run() throws Exception {
+        String adminToken = setupLogin("admin@test.com", "admin");
+        if (options.mix().containsKey(Scenario.FUZZY_SEARCH)) {
+            // Search is a user endpoint, the admin token would be refused
+            long userId = data.userIds()[0];
+            awaitSearchIndex(setupLogin(SeededData.email(userId), SeededData.PASSWORD));
+        }
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        List<Future<Client>> futures = new ArrayList<>(options.clients());
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients(); i++) {
+                Client client = new Client(new SplittableRandom(options.data().seed() + i), adminToken, measureFrom, end);
+                futures.add(clients.submit(() -> {
+                    client.run();
+                    return client;
+                }));
+            }
+        }
+
+        LoadResult result = new LoadResult(options.duration());
+        for (Future<Client> future : futures) {
+            Client client = future.get();
+            client.histograms.forEach(result::add);
+            client.errors.forEach(result::addErrors);
+            result.addFailedRequests(client.failedRequests);
+        }
+        return result;
+    }
+
+    private String setupLogin(String email, String password) throws IOException, InterruptedException {
+        String token = login(email, password, null);
+        if (token == null) {
+            throw new IllegalStateException("Login of " + email + " failed");
+        }
+        return token;
+    }
+
+    /**
+     * Logs in, recording the request for the given client if any.
+     *
+     * @return Token of the session, or null if the login was refused; the refusal is already recorded as an error.
+     */
+    private String login(String email, String password, Client client) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        HttpResponse<String> response = send(client, Endpoint.LOGIN, HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        return objectMapper.readTree(response.body()).get("jwt").asText();
+    }
+
+    /**
+     * Waits for the in-memory search index to finish its first load, until which fuzzy search answers 503.
+     */
+    private void awaitSearchIndex(String token) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        int status;
+        while ((status = send(null, Endpoint.FUZZY_SEARCH, authorized(token, "/api/user/search/cars/fuzzy?q=a").GET())
+                .statusCode()) == 503) {
+            Thread.sleep(1_000);
+        }
+        if (status != 200) {
+            throw new IllegalStateException("Fuzzy search failed with " + status);
+        }
+        System.out.printf("Search index loaded after %d ms%n", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private HttpResponse<String> send(Client client, Endpoint endpoint, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request.timeout(REQUEST_TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofString());
+        long finished = System.nanoTime();
+        if (client != null) {
+            client.record(endpoint, started, finished, response.statusCode());
+        }
+        return response;
+    }
+
+    /**
+     * One simulated user: logs in once, then loops over scenarios until the run ends.
+     */
+    private final class Client {
+
+        private final SplittableRandom random;
+
+        private final String adminToken;
+
+        private final long measureFrom;
+
+        private final long end;
+
+        private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+
+        private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+
+        private final Scenario[] weightedScenarios;
+
+        // Requests that got no response at all, e.g. a reset connection or a timeout
+        private long failedRequests;
+
+        private long userId;
+
+        private String token;
+
+        // ETag of the last dropdown received, sent back like a browser would
+        private String dropdownETag;
+
+        private Client(SplittableRandom random, String adminToken, long measureFrom, long end) {
+            this.random = random;
+            this.adminToken = adminToken;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            List<Scenario> weighted = new ArrayList<>();
+            options.mix().forEach((scenario, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    weighted.add(scenario);
+                }
+            });
+            this.weightedScenarios = weighted.toArray(Scenario[]::new);
+        }
+
+        void run() throws IOException, InterruptedException {
+            while (System.nanoTime() < end) {
+                try {
+                    if (token == null) {
+                        loginAsRandomUser();
+                        continue;
+                    }
+                    switch (weightedScenarios[random.nextInt(weightedScenarios.length)]) {
+                        case LOGIN -> loginAsRandomUser();
+                        case LIST_CARS -> listCars();
+                        case GET_SHOWROOM -> getShowroom();
+                        case DROPDOWN -> dropdown();
+                        case CREATE_AND_DELETE_CAR -> createAndDeleteCar();
+                        case ADMIN_STATS -> send(this, Endpoint.ADMIN_STATS,
+                                authorized(adminToken, "/api/admin/stats").GET());
+                        case FUZZY_SEARCH -> fuzzySearch();
+                    }
+                } catch (IOException e) {
+                    failedRequests++;
+                }
+            }
+        }
+
+        void record(Endpoint endpoint, long started, long finished, int status) {
+            if (started < measureFrom || finished > end) {
+                return;
+            }
+            histograms.computeIfAbsent(endpoint, e -> new Histogram(HIGHEST_TRACKABLE_MICROS, 3))
+                    .recordValue(Math.min((finished - started) / 1_000, HIGHEST_TRACKABLE_MICROS));
+            if (status >= 400) {
+                errors.merge(endpoint, 1L, Long::sum);
+            }
+        }
+
+        private void loginAsRandomUser() throws IOException, InterruptedException {
+            userId = data.userIds()[random.nextInt(data.userIds().length)];
+            token = login(SeededData.email(userId), SeededData.PASSWORD, this);
+        }
+
+        private void listCars() throws IOException, InterruptedException {
+            // Mix of the filter combinations the UI sends, on the first few pages
+            StringBuilder query = new StringBuilder("/api/user/car?size=20&page=").append(random.nextInt(5));
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                }
+                case 1 -> query.append("&maker=").append(encode(randomMaker()));
+                case 2 -> query.append("&carShowroomName=").append(encode(randomShowroomName()));
+                case 3 -> query.append("&modelYear=").append(randomModelYear());
+                default -> query.append("&maker=").append(encode(randomMaker()))
+                        .append("&modelYear=").append(randomModelYear());
+            }
+            send(this, Endpoint.LIST_CARS, authorized(token, query.toString()).GET());
+        }
+
+        private void getShowroom() throws IOException, InterruptedException {
+            long id = data.showroomIds()[random.nextInt(data.showroomIds().length)];
+            send(this, Endpoint.GET_SHOWROOM, authorized(token, "/api/user/car-showrooms/" + id).GET());
+        }
+
+        private void dropdown() throws IOException, InterruptedException {
+            HttpRequest.Builder request = authorized(token, "/api/user/car-showrooms/all").GET();
+            if (dropdownETag != null) {
+                request.header("If-None-Match", dropdownETag);
+            }
+            HttpResponse<String> response = send(this, Endpoint.DROPDOWN, request);
+            response.headers().firstValue("ETag").ifPresent(eTag -> dropdownETag = eTag);
+        }
+
+        private void createAndDeleteCar() throws IOException, InterruptedException {
+            int showroom = random.nextInt(data.showroomIds().length);
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "vin", "LN" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36),
+                    "maker", randomMaker(),
+                    "model", "Load Test",
+                    "modelYear", randomModelYear(),
+                    "price", 5_000 + random.nextInt(120_000),
+                    "carShowroomId", data.showroomIds()[showroom],
+                    "userId", userId));
+            HttpResponse<String> created = send(this, Endpoint.CREATE_CAR, authorized(token, "/api/user/car")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            if (created.statusCode() != 200) {
+                return;
+            }
+            JsonNode car = objectMapper.readTree(created.body());
+            send(this, Endpoint.DELETE_CAR, authorized(token, "/api/user/car/" + car.get("id").asLong()).DELETE());
+        }
+
+        private void fuzzySearch() throws IOException, InterruptedException {
+            String text = random.nextBoolean() ? randomMaker() : randomShowroomName();
+            String query = switch (random.nextInt(3)) {
+                // Cut short, as when the results update while typing
+                case 0 -> text.substring(0, Math.min(text.length(), 3 + random.nextInt(3)));
+                // One character dropped
+                case 1 -> dropCharacter(text);
+                default -> text.toLowerCase(Locale.ROOT);
+            };
+            send(this, Endpoint.FUZZY_SEARCH,
+                    authorized(token, "/api/user/search/cars/fuzzy?size=20&q=" + encode(query)).GET());
+        }
+
+        private String dropCharacter(String text) {
+            if (text.length() < 2) {
+                return text;
+            }
+            int index = 1 + random.nextInt(text.length() - 1);
+            return text.substring(0, index) + text.substring(index + 1);
+        }
+
+        private int randomModelYear() {
+            return DataGenerator.OLDEST_MODEL_YEAR
+                    + random.nextInt(DataGenerator.NEWEST_MODEL_YEAR - DataGenerator.OLDEST_MODEL_YEAR + 1);
+        }
+
+        private String randomMaker() {
+            return data.makers().get(random.nextInt(data.makers().size()));
+        }
+
+        private String randomShowroomName() {
+            return data.showroomNames()[random.nextInt(data.showroomNames().length)];
+        }
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).header("Authorization", "Bearer " + token);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package com.car.carshowroombackend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latency histograms and error counts per endpoint over the measured phase of a run.
+ */
+final class LoadResult {
+
+    private final Duration duration;
+
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+
+    private long failedRequests;
+
+    LoadResult(Duration duration) {
+        this.duration = duration;
+    }
+
+    void add(Endpoint endpoint, Histogram histogram) {
+        histograms.computeIfAbsent(endpoint, e -> new Histogram(histogram.getHighestTrackableValue(), 3)).add(histogram);
+    }
+
+    void addErrors(Endpoint endpoint, long count) {
+        errors.merge(endpoint, count, Long::sum);
+    }
+
+    void addFailedRequests(long count) {
+        failedRequests += count;
+    }
+
+    /**
+     * Prints throughput and latency percentiles per endpoint, in milliseconds.
+     */
+    void print(PrintStream out) {
+        double seconds = duration.toMillis() / 1000.0;
+        out.printf(Locale.ROOT, "%-36s %9s %9s %7s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Req/s", "Errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            total += histogram.getTotalCount();
+            out.printf(Locale.ROOT, "%-36s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().label(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    errors.getOrDefault(entry.getKey(), 0L),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+        out.printf(Locale.ROOT, "%-36s %9d %9.1f%n", "Total", total, total / seconds);
+        out.println("Closed-loop response times, not corrected for coordinated omission");
+        if (failedRequests > 0) {
+            out.printf(Locale.ROOT, "%d requests got no response%n", failedRequests);
+        }
+    }
+
+    /**
+     * Writes the full percentile distribution of each endpoint as an .hgrm file, in milliseconds,
+     * which the HdrHistogram plotter and other runs can be compared against.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.car.carshowroombackend.loadtest;
+
+import com.car.carshowroombackend.CarShowroomBackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test entry point: starts an embedded PostgreSQL, migrates and seeds it, boots the application against it
+ * on a random port, drives the configured scenario mix and reports latency per endpoint.
+ * <p>
+ * Run with {@code mvn -Pload-test verify -DskipTests -Dload.args="--clients=500 --duration=120s"}. Options:
+ * {@code --clients}, {@code --warmup}, {@code --duration}, {@code --mix=list=50,showroom=15,...},
+ * {@code --app-profile=virtual-threads} and the data set options of {@link GenerateData}.
+ * The histograms are written to {@code target/load-test}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            Flyway.configure().dataSource(dataSource).locations("classpath:db.migration").load().migrate();
+
+            long seedingStarted = System.nanoTime();
+            SeededData data = new DataGenerator(dataSource, options.data()).generate();
+            System.out.printf("Seeded %d users, %d showrooms and %d cars in %d ms%n", options.data().users(),
+                    options.data().showrooms(), options.data().cars(),
+                    (System.nanoTime() - seedingStarted) / 1_000_000);
+
+            try (ConfigurableApplicationContext context = SpringApplication.run(CarShowroomBackendApplication.class,
+                    applicationArgs(postgres, options))) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                System.out.printf("Driving %d clients for %s after a %s warmup%n", options.clients(),
+                        options.duration(), options.warmup());
+
+                LoadResult result = new LoadDriver(port, options, data).run();
+                result.print(System.out);
+                result.write(Path.of("target", "load-test"));
+            }
+        }
+    }
+
+    private static String[] applicationArgs(EmbeddedPostgres postgres, LoadTestOptions options) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false"));
+        if (!options.appProfile().isEmpty()) {
+            args.add("--spring.profiles.active=" + options.appProfile());
+        }
+        return args.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,41 @@
+package com.car.carshowroombackend.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code --name=value} arguments.
+ *
+ * @param data       Size, shape and seed of the generated data set; each client logs in as one of its users.
+ * @param clients    Number of concurrent clients, each a virtual thread issuing one request at a time.
+ * @param warmup     Time spent driving load before latencies are recorded.
+ * @param duration   Time over which latencies are recorded.
+ * @param mix        Relative weight of each scenario.
+ * @param appProfile Spring profile the application is started with, e.g. virtual-threads; empty for none.
+ */
+record LoadTestOptions(GeneratorOptions data, int clients, Duration warmup, Duration duration,
+                       Map<Scenario, Integer> mix, String appProfile) {
+
+    private static final String DEFAULT_MIX = "list=50,showroom=15,dropdown=15,create=10,stats=5,login=5";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = Arguments.parse(args);
+        return new LoadTestOptions(
+                GeneratorOptions.from(values),
+                Integer.parseInt(values.getOrDefault("clients", "200")),
+                Duration.parse("PT" + values.getOrDefault("warmup", "10s")),
+                Duration.parse("PT" + values.getOrDefault("duration", "60s")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                values.getOrDefault("app-profile", ""));
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            weights.put(Scenario.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
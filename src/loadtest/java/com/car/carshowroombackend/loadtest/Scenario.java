@@ -0,0 +1,32 @@
+package com.car.carshowroombackend.loadtest;
+
+/**
+ * Kinds of user interaction mixed by the load test, each issuing one or more endpoint calls.
+ */
+enum Scenario {
+
+    LOGIN("login"),
+    LIST_CARS("list"),
+    GET_SHOWROOM("showroom"),
+    DROPDOWN("dropdown"),
+    // Creates a car and deletes it again, keeping the data set stable over a long run
+    CREATE_AND_DELETE_CAR("create"),
+    ADMIN_STATS("stats"),
+    // Typo tolerant search for a maker or showroom name, misspelt or cut short like a user typing it
+    FUZZY_SEARCH("search");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + key);
+    }
+}
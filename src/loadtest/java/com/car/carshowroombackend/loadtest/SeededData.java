@@ -0,0 +1,20 @@
+package com.car.carshowroombackend.loadtest;
+
+import java.util.List;
+
+/**
+ * What the clients need to know about the seeded rows to build valid requests.
+ *
+ * @param userIds       Ids of the enabled users, logging in as {@code loaduser<id>@test.com}.
+ * @param showroomIds   Ids of the showrooms that are not deleted.
+ * @param showroomNames Names of those showrooms, by the index of their id.
+ * @param makers        Makers used by the seeded cars.
+ */
+record SeededData(long[] userIds, long[] showroomIds, String[] showroomNames, List<String> makers) {
+
+    static final String PASSWORD = "password";
+
+    static String email(long userId) {
+        return "loaduser" + userId + "@test.com";
+    }
+}
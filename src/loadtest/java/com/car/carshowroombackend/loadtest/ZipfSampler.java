@@ -0,0 +1,32 @@
+package com.car.carshowroombackend.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent, so a few values take most
+ * of the rows: with exponent 1 and 40 makers the top maker holds about a quarter of the cars.
+ * The cumulative distribution is precomputed; a sample is one uniform draw and a binary search.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // A miss returns -(insertion point) - 1; the insertion point is the first rank whose bound is above the draw
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.car.carshowroombackend.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration backed by bounded Caffeine caches.
+ * Each cache gets its own size, TTL and statistics settings from {@link CacheSpecProperties};
+ * the statistics are published as cache metrics by the actuator.
+ */
+@Configuration
+@EnableCaching  // Enables the @Cacheable/@CachePut/@CacheEvict annotations
+@EnableConfigurationProperties({CacheSpecProperties.class, CacheInvalidationProperties.class})
+public class CacheConfiguration {
+
+    public static final String CAR_SHOWROOMS = "carShowrooms";
+
+    public static final String USERS = "users";
+
+    // Invalidations of individual car rows, for node-local state derived from the car table
+    public static final String CARS = "cars";
+
+    // Invalidations of the pre-serialized showroom dropdown, published on any showroom change
+    public static final String SHOWROOM_DROPDOWN = "showroomDropdown";
+
+    // Invalidations of showroom names, for node-local copies of the name such as the car search index
+    public static final String SHOWROOM_NAMES = "showroomNames";
+
+    /**
+     * Creates the cache manager with one Caffeine cache per configured spec.
+     * Puts and evictions made inside a transaction are applied only after it commits,
+     * so a rolled back update never reaches the cache.
+     *
+     * @param properties Cache specs per cache name
+     * @return Configured CacheManager
+     */
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(properties.getDefaultSpec());  // Used for caches created on demand
+        cacheManager.setAllowNullValues(false);
+        properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).build()));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,39 @@
+package com.car.carshowroombackend.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the cross-node cache invalidation bus, bound from the {@code app.cache.invalidation} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * Whether invalidations are published to and received from the other nodes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * PostgreSQL NOTIFY channel shared by all nodes.
+     */
+    private String channel = "cache_invalidation";
+
+    /**
+     * How long invalidations are batched before being published.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * How long the listener waits for notifications before checking the connection again.
+     */
+    private Duration pollTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Delay before the listener reconnects after losing its connection.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,25 @@
+package com.car.carshowroombackend.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine specifications for the application caches, bound from the {@code app.cache} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSpecProperties {
+
+    /**
+     * Spec applied to caches that have no entry in {@link #specs}.
+     */
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m,recordStats";
+
+    /**
+     * Spec per cache name, e.g. {@code maximumSize=5000,expireAfterWrite=30m,recordStats}.
+     */
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
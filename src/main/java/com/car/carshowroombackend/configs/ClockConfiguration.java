@@ -0,0 +1,21 @@
+package com.car.carshowroombackend.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Clock of the application, injected where the current time is recorded so the tests can set it.
+ */
+@Configuration
+public class ClockConfiguration {
+
+    /**
+     * @return System clock in UTC
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -0,0 +1,118 @@
+package com.car.carshowroombackend.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the number of API requests in flight when requests run on virtual threads.
+ * With a platform thread pool the pool size was the bound; virtual threads are unbounded, so without this
+ * filter a burst of clients turns into a burst of connection requests against the Hikari pool.
+ * Requests over the limit wait up to the queue timeout for a slot and are then answered 503 with Retry-After.
+ * A slot taken by an asynchronous request, e.g. a streaming export, is held until the response completes or the
+ * request times out; the export bounds its own timeout.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)  // Right after the CORS filter, before authentication
+@EnableConfigurationProperties(ThreadingProperties.class)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore slots;
+
+    private final ThreadingProperties properties;
+
+    private final Counter rejectedCounter;
+
+    public ConcurrencyLimitFilter(ThreadingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.slots = new Semaphore(properties.getMaxConcurrentRequests(), true);
+        this.rejectedCounter = Counter.builder("http.server.requests.limited").register(meterRegistry);
+        Gauge.builder("http.server.requests.in.flight", slots,
+                s -> properties.getMaxConcurrentRequests() - s.availablePermits()).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Actuator and Swagger stay reachable when the API is saturated
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(properties.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of an asynchronous request once it finishes, whichever way.
+     */
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.car.carshowroombackend.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller method and records the SQL statements, query rows and entities each call needed.
+ * Meters are tagged with the controller and method name, the timer also with the outcome of the response status.
+ * They are looked up once per handler method and outcome, so a request costs two clock reads and two map lookups.
+ * <p>
+ * An asynchronous handler, such as a streaming export, is timed from its first dispatch to the end of the async
+ * redispatch. Its SQL is added up from the three threads it runs on: the first dispatch, the async task, which this
+ * also intercepts as a {@link CallableProcessingInterceptor}, and the redispatch.
+ */
+public class ControllerMetricsInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final String STARTED_ATTRIBUTE = ControllerMetricsInterceptor.class.getName() + ".started";
+
+    // SQL counted on the threads the request already left, for an asynchronous request
+    private static final String SQL_ATTRIBUTE = ControllerMetricsInterceptor.class.getName() + ".sql";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, HandlerMeters> handlerMeters = new ConcurrentHashMap<>();
+
+    public ControllerMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestSqlCounters.current().reset();
+            // The async redispatch carries on with the start of the first dispatch
+            if (request.getDispatcherType() != DispatcherType.ASYNC) {
+                request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (handler instanceof HandlerMethod) {
+            sqlCounters(request).add(RequestSqlCounters.current());
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        RequestSqlCounters.current().reset();
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (servletRequest != null && servletRequest.getAttribute(STARTED_ATTRIBUTE) != null) {
+            sqlCounters(servletRequest).add(RequestSqlCounters.current());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(request.getAttribute(STARTED_ATTRIBUTE) instanceof Long started)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        // An exception escaping the handler ends in a 500 even though the status is not set yet
+        Outcome outcome = ex != null ? Outcome.SERVER_ERROR : Outcome.forStatus(response.getStatus());
+
+        HandlerMeters meters = handlerMeters.computeIfAbsent(handlerMethod.getMethod(),
+                method -> new HandlerMeters(handlerMethod, meterRegistry));
+        meters.timer(outcome).record(elapsed, TimeUnit.NANOSECONDS);
+
+        RequestSqlCounters counters = RequestSqlCounters.current();
+        if (request.getAttribute(SQL_ATTRIBUTE) instanceof RequestSqlCounters earlier) {
+            counters = RequestSqlCounters.detached();
+            counters.add(earlier);
+            counters.add(RequestSqlCounters.current());
+        }
+        meters.statements.record(counters.statements());
+        meters.rows.record(counters.rows());
+        meters.entities.record(counters.entities());
+    }
+
+    private static RequestSqlCounters sqlCounters(HttpServletRequest request) {
+        if (request.getAttribute(SQL_ATTRIBUTE) instanceof RequestSqlCounters counters) {
+            return counters;
+        }
+        RequestSqlCounters counters = RequestSqlCounters.detached();
+        request.setAttribute(SQL_ATTRIBUTE, counters);
+        return counters;
+    }
+
+    private static final class HandlerMeters {
+
+        private final String controller;
+
+        private final String method;
+
+        private final MeterRegistry meterRegistry;
+
+        private final Map<Outcome, Timer> timers = new ConcurrentHashMap<>();
+
+        private final DistributionSummary statements;
+
+        private final DistributionSummary rows;
+
+        private final DistributionSummary entities;
+
+        HandlerMeters(HandlerMethod handlerMethod, MeterRegistry meterRegistry) {
+            this.controller = handlerMethod.getBeanType().getSimpleName();
+            this.method = handlerMethod.getMethod().getName();
+            this.meterRegistry = meterRegistry;
+            this.statements = summary("app.controller.sql.statements", meterRegistry);
+            this.rows = summary("app.controller.sql.rows", meterRegistry);
+            this.entities = summary("app.controller.sql.entities", meterRegistry);
+        }
+
+        Timer timer(Outcome outcome) {
+            return timers.computeIfAbsent(outcome, o -> Timer.builder("app.controller")
+                    .tag("controller", controller)
+                    .tag("method", method)
+                    .tag("outcome", o.name())
+                    .register(meterRegistry));
+        }
+
+        private DistributionSummary summary(String name, MeterRegistry meterRegistry) {
+            return DistributionSummary.builder(name)
+                    .tag("controller", controller)
+                    .tag("method", method)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.car.carshowroombackend.configs;
 
+import com.car.carshowroombackend.services.jwt.TokenRevocationService;
 import com.car.carshowroombackend.services.jwt.UserService;
 import com.car.carshowroombackend.utill.JwtUtil;
+import com.car.carshowroombackend.utill.VerifiedClaims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,17 +22,31 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Authentication Filter to validate JWT tokens for each request.
  * Extends OncePerRequestFilter to ensure a single execution per request.
+ * The time spent verifying each token is published as the {@code jwt.validation} timer.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;  // Utility for handling JWT operations
     private final UserService userService;  // Service to load user details
+    private final TokenRevocationService tokenRevocationService;  // Revocation table for stateless tokens
+    private final Timer validTokenTimer;  // Verifications that returned claims
+    private final Timer invalidTokenTimer;  // Verifications that rejected the token
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService,
+                                   TokenRevocationService tokenRevocationService, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.validTokenTimer = Timer.builder("jwt.validation").tag("result", "valid").register(meterRegistry);
+        this.invalidTokenTimer = Timer.builder("jwt.validation").tag("result", "invalid").register(meterRegistry);
+    }
 
     /**
      * Filters incoming requests to validate JWT tokens in the Authorization header.
@@ -53,21 +72,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Extract JWT token from the Authorization header
         final String jwt = authHeader.substring(7);
-        final String userEmail = jwtUtil.extractUserName(jwt);  // Extract username (email) from JWT
+        final VerifiedClaims claims = verify(jwt);  // Parse and verify the token once
+        final String userEmail = claims.subject();  // Extract username (email) from JWT
 
         // If email is not empty and no authentication exists in the security context
         if (StringUtils.isNotEmpty(userEmail) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load user details using the extracted email
-            UserDetails userDetails = userService.userDetailsService().loadUserByUsername(userEmail);
+            // Tokens carrying role and epoch are authorized from their claims, older tokens through the user
+            UsernamePasswordAuthenticationToken authToken = claims.isStateless()
+                    ? authenticateFromClaims(claims)
+                    : authenticateFromUser(claims);
 
             // If JWT is valid, set the authentication in the security context
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
+            if (authToken != null) {
                 SecurityContext context = SecurityContextHolder.createEmptyContext();
-
-                // Create authentication token for the user
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 // Set the authentication token in the security context
@@ -78,4 +95,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continue the filter chain for the next request
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Verifies the token, timing the verification whether it succeeds or not.
+     *
+     * @param jwt The JWT string
+     * @return Verified claims of the token
+     * @throws JwtException if the token is malformed, expired or its signature is invalid
+     */
+    private VerifiedClaims verify(String jwt) {
+        long started = System.nanoTime();
+        try {
+            VerifiedClaims claims = jwtUtil.verify(jwt);
+            validTokenTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (JwtException e) {
+            invalidTokenTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the authentication from the token claims alone. The revocation table rejects tokens
+     * of disabled users and tokens issued before the user's last status change.
+     *
+     * @param claims Verified claims carrying the user id, role and epoch
+     * @return Authentication token, or null if the token has been revoked
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedClaims claims) {
+        if (claims.isExpired() || !tokenRevocationService.isCurrent(claims.userId(), claims.epoch())) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                claims.subject(), null, List.of(new SimpleGrantedAuthority(claims.role().name()))
+        );
+    }
+
+    /**
+     * Builds the authentication from the user details, for tokens issued without role and epoch claims.
+     *
+     * @param claims Verified claims carrying the username (email)
+     * @return Authentication token, or null if the user is disabled or the token is not valid for them
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromUser(VerifiedClaims claims) {
+        // Load user details using the extracted email, served from the users cache when possible
+        UserDetails userDetails = userService.loadAuthenticatedUser(claims.subject());
+        if (!userDetails.isEnabled() || !claims.isValidFor(userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()
+        );
+    }
 }
@@ -0,0 +1,52 @@
+package com.car.carshowroombackend.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Application metrics, scraped from {@code /actuator/prometheus} with the ones the actuator publishes itself:
+ * Hikari connection acquisition time ({@code hikaricp.connections.acquire}) and the hit and miss counts of the
+ * Caffeine caches ({@code cache.gets}), which record statistics through their specs.
+ * This adds the per controller method timers and SQL counts, and enables the Hibernate statistics they come from.
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    private final ControllerMetricsInterceptor controllerMetricsInterceptor;
+
+    public MetricsConfiguration(MeterRegistry meterRegistry) {
+        this.controllerMetricsInterceptor = new ControllerMetricsInterceptor(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(controllerMetricsInterceptor);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Counts the SQL of streaming responses and other async handlers, which runs on the async executor
+        configurer.registerCallableInterceptors(controllerMetricsInterceptor);
+    }
+
+    /**
+     * Turns on Hibernate statistics, built by {@link RequestSqlStatistics} so they are also counted per request.
+     * The metrics Hibernate otherwise logs at the end of every session are turned off; they are published instead.
+     *
+     * @return Customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestSqlStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.STATS_BUILDER, RequestSqlStatistics.FACTORY);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+}
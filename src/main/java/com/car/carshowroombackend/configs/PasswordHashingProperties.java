@@ -0,0 +1,34 @@
+package com.car.carshowroombackend.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the bounded BCrypt executor, bound from the {@code app.security.bcrypt} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.bcrypt")
+public class PasswordHashingProperties {
+
+    /**
+     * BCrypt cost (log rounds). Raising it rehashes stored passwords on their next successful login.
+     */
+    private int strength = 10;
+
+    /**
+     * Number of threads hashing and verifying passwords.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of hashing requests allowed to wait for a thread before new ones are rejected.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Maximum time a request waits for its hashing result.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,16 @@
+package com.car.carshowroombackend.configs;
+
+import java.io.Serial;
+
+/**
+ * Thrown when the password hashing executor is saturated and a request cannot be served in time.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
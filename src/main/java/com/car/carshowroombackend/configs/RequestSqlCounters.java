@@ -0,0 +1,85 @@
+package com.car.carshowroombackend.configs;
+
+/**
+ * SQL work done by the current thread since the last {@link #reset()}, fed by {@link RequestSqlStatistics}.
+ * A request runs on one thread, so resetting when a handler starts and reading when it completes gives the
+ * statements and rows of that request without any shared counter. The part of an asynchronous request that runs on
+ * another thread is added up with {@link #add(RequestSqlCounters)}.
+ */
+public final class RequestSqlCounters {
+
+    private static final ThreadLocal<RequestSqlCounters> CURRENT = ThreadLocal.withInitial(RequestSqlCounters::new);
+
+    private long statements;
+
+    private long rows;
+
+    private long entities;
+
+    private RequestSqlCounters() {
+    }
+
+    /**
+     * @return Counters of the current thread
+     */
+    public static RequestSqlCounters current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return Counters detached from any thread, to add up the work a request did on several threads
+     */
+    public static RequestSqlCounters detached() {
+        return new RequestSqlCounters();
+    }
+
+    public void reset() {
+        statements = 0;
+        rows = 0;
+        entities = 0;
+    }
+
+    /**
+     * Adds the given counters to these.
+     *
+     * @param other Counters of another thread, or detached ones
+     */
+    public void add(RequestSqlCounters other) {
+        statements += other.statements;
+        rows += other.rows;
+        entities += other.entities;
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void rowsFetched(int count) {
+        rows += count;
+    }
+
+    void entityLoaded() {
+        entities++;
+    }
+
+    /**
+     * @return JDBC statements prepared by Hibernate
+     */
+    public long statements() {
+        return statements;
+    }
+
+    /**
+     * @return Rows returned by HQL, criteria and native queries
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * @return Entities loaded, whether by id or as query results
+     */
+    public long entities() {
+        return entities;
+    }
+}
@@ -0,0 +1,41 @@
+package com.car.carshowroombackend.configs;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+
+import java.io.Serial;
+
+/**
+ * Hibernate statistics that, on top of the session factory wide totals, count statements, query rows and
+ * entity loads per thread in {@link RequestSqlCounters}. Installed through {@link #FACTORY}.
+ */
+public class RequestSqlStatistics extends StatisticsImpl {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final StatisticsFactory FACTORY = RequestSqlStatistics::new;
+
+    public RequestSqlStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        RequestSqlCounters.current().statementPrepared();
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        RequestSqlCounters.current().rowsFetched(rows);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        RequestSqlCounters.current().entityLoaded();
+    }
+}
@@ -0,0 +1,36 @@
+package com.car.carshowroombackend.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Settings of the in-memory car search index, bound from the {@code app.search} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /**
+     * Whether listing queries are answered from the in-memory index; when disabled they always go to the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Ascending bounds of the price ranges counted as a facet; n bounds give n + 1 ranges.
+     */
+    private List<BigDecimal> priceBounds = List.of(new BigDecimal("10000"), new BigDecimal("25000"),
+            new BigDecimal("50000"), new BigDecimal("100000"));
+
+    /**
+     * Number of rows appended out of id order after which the index is rebuilt ahead of schedule.
+     */
+    private int maxOutOfOrderRows = 10000;
+
+    /**
+     * Minimum trigram similarity, between 0 and 1, for a maker, model or showroom name to match a fuzzy query.
+     */
+    private float fuzzyThreshold = 0.3f;
+}
@@ -0,0 +1,32 @@
+package com.car.carshowroombackend.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the virtual thread mode, bound from the {@code app.threads} properties.
+ * Only read when {@code spring.threads.virtual.enabled} is set.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.threads")
+public class ThreadingProperties {
+
+    /**
+     * Maximum number of API requests processed at once. Virtual threads remove the Tomcat pool as a bound, so this
+     * keeps the number of requests competing for a connection close to the Hikari pool size instead of letting
+     * thousands of them queue inside the pool and fail on its connection timeout.
+     */
+    private int maxConcurrentRequests = 200;
+
+    /**
+     * Maximum time a request waits for a slot before it is answered 503.
+     */
+    private Duration queueTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Pinned sections of a virtual thread lasting at least this long are reported.
+     */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+}
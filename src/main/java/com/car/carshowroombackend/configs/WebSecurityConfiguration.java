@@ -12,7 +12,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -29,6 +28,7 @@ public class WebSecurityConfiguration {
 
     private final UserService userService;  // Service for user details retrieval
     private final JwtAuthenticationFilter jwtAuthenticationFilter;  // JWT authentication filter
+    private final BoundedPasswordEncoder passwordEncoder;  // BCrypt encoder running on its own bounded pool
 
     /**
      * Configures the security filter chain for handling HTTP requests.
@@ -72,6 +72,7 @@ public class WebSecurityConfiguration {
 
     /**
      * Configures the authentication provider with user details service and password encoder.
+     * Passwords hashed with a lower BCrypt cost than the configured one are rehashed on successful login.
      *
      * @return Configured AuthenticationProvider
      */
@@ -79,7 +80,8 @@ public class WebSecurityConfiguration {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService.userDetailsService());  // Set the user details service
-        authProvider.setPasswordEncoder(new BCryptPasswordEncoder());  // Set the password encoder for hashing
+        authProvider.setPasswordEncoder(passwordEncoder);  // Set the password encoder for hashing
+        authProvider.setUserDetailsPasswordService(userService.userDetailsPasswordService());  // Store upgraded hashes
         return authProvider;  // Return the configured authentication provider
     }
 }
@@ -1,18 +1,24 @@
 package com.car.carshowroombackend.controller;
 
+import com.car.carshowroombackend.enums.RollupGranularity;
 import com.car.carshowroombackend.services.auth.AuthService;
+import com.car.carshowroombackend.services.rollup.InventoryRollupService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.OffsetDateTime;
+
 /**
  * Controller class for handling admin-related operations.
  * Provides endpoints for managing users and retrieving statistics.
@@ -24,6 +30,8 @@ public class AdminController {
 
     private final AuthService authService;  // Service for handling authentication-related tasks
 
+    private final InventoryRollupService inventoryRollupService;  // Service for the inventory trend rollups
+
     /**
      * Endpoint to retrieve all users with pagination support.
      *
@@ -61,6 +69,33 @@ public class AdminController {
         }
     }
 
+    /**
+     * Endpoint to retrieve the hourly or daily inventory trend buckets for a time range.
+     *
+     * @param granularity   Bucket size (HOUR or DAY)
+     * @param from          Inclusive start of the range (ISO-8601)
+     * @param to            Exclusive end of the range (ISO-8601)
+     * @param carShowroomId Optional showroom filter (0 selects the user status buckets)
+     * @return ResponseEntity containing the buckets or an error message
+     */
+    @GetMapping("/rollups")
+    public ResponseEntity<?> getRollups(
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) Long carShowroomId) {
+        try {
+            if (!from.isBefore(to)) {
+                return new ResponseEntity<>("'from' must be before 'to'.", HttpStatus.BAD_REQUEST);
+            }
+            // Read the pre-aggregated buckets instead of scanning the car table
+            return ResponseEntity.ok(inventoryRollupService.getRollups(granularity, from, to, carShowroomId));
+        } catch (Exception e) {
+            // Handle any exceptions and return an internal server error
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Endpoint to update the status (enabled/disabled) of a user.
      *
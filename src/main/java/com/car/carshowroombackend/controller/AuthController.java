@@ -1,30 +1,28 @@
 package com.car.carshowroombackend.controller;
 
+import com.car.carshowroombackend.configs.PasswordHashingRejectedException;
 import com.car.carshowroombackend.dto.AuthenticationRequest;
 import com.car.carshowroombackend.dto.AuthenticationResponse;
 import com.car.carshowroombackend.dto.SignupRequest;
 import com.car.carshowroombackend.dto.UserDTO;
 import com.car.carshowroombackend.entity.User;
-import com.car.carshowroombackend.repository.UserRepository;
 import com.car.carshowroombackend.services.auth.AuthService;
-import com.car.carshowroombackend.services.jwt.UserService;
 import com.car.carshowroombackend.utill.JwtUtil;
 import jakarta.persistence.EntityExistsException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Optional;
-
 /**
  * Controller for handling authentication operations such as user signup and login.
  */
@@ -37,12 +35,8 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;  // Manages authentication process
 
-    private final UserRepository userRepository;  // Repository for accessing user data
-
     private final JwtUtil jwtUtil;  // Utility for generating and validating JWT tokens
 
-    private final UserService userService;  // Service for loading user details
-
     /**
      * Endpoint for user signup.
      *
@@ -58,6 +52,9 @@ public class AuthController {
         } catch (EntityExistsException entityExistsException) {
             // Handle case where the user already exists
             return new ResponseEntity<>("User already exists", HttpStatus.NOT_ACCEPTABLE);
+        } catch (PasswordHashingRejectedException e) {
+            // Handle case where password hashing is saturated
+            return serviceUnavailable(e);
         } catch (Exception e) {
             // Handle any other exceptions during signup
             return new ResponseEntity<>("User not created, come again later", HttpStatus.BAD_REQUEST);
@@ -72,9 +69,10 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthenticationRequest authenticationRequest) {
+        final Authentication authentication;
         try {
             // Authenticate the user based on provided credentials
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authenticationRequest.getEmail(), authenticationRequest.getPassword()));
         } catch (BadCredentialsException e) {
             // Handle case where credentials are incorrect
@@ -82,20 +80,32 @@ public class AuthController {
         } catch (DisabledException e) {
             // Handle case where the user account is disabled
             return new ResponseEntity<>(e.getMessage(), HttpStatus.LOCKED);
+        } catch (PasswordHashingRejectedException e) {
+            // Handle case where password verification is saturated
+            return serviceUnavailable(e);
         }
 
-        // Load user details and generate a JWT token
-        final UserDetails userDetails = userService.userDetailsService().loadUserByUsername(authenticationRequest.getEmail());
-        Optional<User> optionalUser = userRepository.findFirstByEmail(userDetails.getUsername());
-        final String jwt = jwtUtil.generateToken(userDetails);
+        // Reuse the user loaded during authentication to generate the JWT token, no further lookup needed
+        final User user = (User) authentication.getPrincipal();
+        final String jwt = jwtUtil.generateToken(user);
 
         // Prepare the authentication response with JWT and user information
         AuthenticationResponse authenticationResponse = new AuthenticationResponse();
-        if (optionalUser.isPresent()) {
-            authenticationResponse.setJwt(jwt);
-            authenticationResponse.setUserRole(optionalUser.get().getUserRole());
-            authenticationResponse.setUserId(optionalUser.get().getId());
-        }
+        authenticationResponse.setJwt(jwt);
+        authenticationResponse.setUserRole(user.getUserRole());
+        authenticationResponse.setUserId(user.getId());
         return new ResponseEntity<>(authenticationResponse, HttpStatus.OK);
     }
+
+    /**
+     * Builds the fast failure returned when the password hashing pool is saturated.
+     *
+     * @param e Rejection raised by the password encoder
+     * @return ResponseEntity with status 503 asking the client to retry shortly
+     */
+    private ResponseEntity<?> serviceUnavailable(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
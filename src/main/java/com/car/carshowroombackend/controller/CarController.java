@@ -2,16 +2,26 @@ package com.car.carshowroombackend.controller;
 
 
 import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.enums.ExportFormat;
+import com.car.carshowroombackend.services.car.CarImportService;
 import com.car.carshowroombackend.services.car.CarService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.InputStream;
+import java.util.List;
 
 /**
  * Controller for managing car-related operations for users.
@@ -21,8 +31,17 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/user/car")  // Base URL for car-related endpoints
 public class CarController {
 
+    // Upper bound on the number of items accepted by a batch create request
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final CarService carService;  // Service for car-related operations
 
+    private final CarImportService carImportService;  // Service for bulk car imports
+
+    // Longest an export may stream, in milliseconds; a stalled client is cut off instead of holding its slot forever
+    @Value("${app.export.timeout:1800000}")
+    private long exportTimeout;
+
     /**
      * Endpoint to create a new car.
      *
@@ -43,6 +62,29 @@ public class CarController {
         }
     }
 
+    /**
+     * Endpoint to create several cars in one request.
+     *
+     * @param dtos Details of the cars to be created (at most {@value #MAX_BATCH_SIZE})
+     * @return ResponseEntity containing the created cars or an error message
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createCars(@RequestBody List<@Valid CarDTO> dtos) {
+        try {
+            if (dtos.size() > MAX_BATCH_SIZE) {
+                return new ResponseEntity<>("At most " + MAX_BATCH_SIZE + " items per batch.", HttpStatus.BAD_REQUEST);
+            }
+            // Create all cars in one transaction with batched inserts
+            return ResponseEntity.ok(carService.createCars(dtos));
+        } catch (IllegalArgumentException e) {
+            // Handle case where a referenced entity does not exist
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            // Handle any other exceptions during batch creation
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Endpoint to list cars with optional filtering.
      *
@@ -73,6 +115,112 @@ public class CarController {
         }
     }
 
+    /**
+     * Endpoint to scroll through cars with keyset pagination and optional filtering.
+     * Returns a slice without a total count; pass the returned cursor as {@code after} to fetch the next slice.
+     *
+     * @param after           Optional cursor returned with the previous slice
+     * @param pageable        Slice size and sort order (id, price, modelYear or maker)
+     * @param maker           Optional filter for car maker
+     * @param carShowroomName Optional filter for showroom name
+     * @param vin             Optional filter for VIN
+     * @param modelYear       Optional filter for model year
+     * @return ResponseEntity containing the slice of cars or an error message
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scrollCars(
+            @RequestParam(required = false) String after,
+            @PageableDefault(size = 10, sort = "id") Pageable pageable,
+            @RequestParam(required = false) String maker,
+            @RequestParam(required = false) String carShowroomName,
+            @RequestParam(required = false) String vin,
+            @RequestParam(required = false) Integer modelYear
+    ) {
+        try {
+            // Retrieve the next slice of cars after the given cursor
+            return ResponseEntity.ok(carService.scrollCars(after, pageable, maker, carShowroomName, vin, modelYear));
+        } catch (IllegalArgumentException e) {
+            // Handle case where the cursor or the requested sort is invalid
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            // Handle any other exceptions during scrolling cars
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Endpoint to export all cars matching the optional filters in a single streamed response.
+     * Rows are written as they are read from the database, ordered by id.
+     *
+     * @param format          Output format, NDJSON (default) or CSV
+     * @param maker           Optional filter for car maker
+     * @param carShowroomName Optional filter for showroom name
+     * @param vin             Optional filter for VIN
+     * @param modelYear       Optional filter for model year
+     * @param response        Response the cars are streamed to
+     * @return Task streaming the cars on an async thread, within the export timeout
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportCars(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) String maker,
+            @RequestParam(required = false) String carShowroomName,
+            @RequestParam(required = false) String vin,
+            @RequestParam(required = false) Integer modelYear,
+            HttpServletResponse response
+    ) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"cars." + format.getExtension() + "\"");
+        // The body is written on an async thread once the headers are sent, so errors past this point abort the stream;
+        // on timeout the thread is interrupted and the response completed
+        return new WebAsyncTask<>(exportTimeout, () -> {
+            carService.exportCars(format, response.getOutputStream(), maker, carShowroomName, vin, modelYear);
+            return null;
+        });
+    }
+
+    /**
+     * Endpoint to import cars in bulk from a CSV request body.
+     * The header row names the columns: vin, maker, model, modelYear, price, carShowroomId and userId.
+     *
+     * @param csv Raw CSV body, streamed without being buffered in memory
+     * @return ResponseEntity containing the import report or an error message
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> importCars(InputStream csv) {
+        try {
+            // Validate and insert the rows, reporting the rejected ones by line number
+            return ResponseEntity.ok(carImportService.importCars(csv));
+        } catch (IllegalArgumentException e) {
+            // Handle case where the header is missing a required column
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            // Handle any other exceptions during the import
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Endpoint to delete several cars by their IDs in one statement.
+     *
+     * @param ids IDs of the cars to be deleted
+     * @return ResponseEntity containing the cars deleted by this request or an error message
+     */
+    @DeleteMapping
+    public ResponseEntity<?> deleteCars(@RequestParam List<Long> ids) {
+        try {
+            if (ids.size() > MAX_BATCH_SIZE) {
+                return new ResponseEntity<>("At most " + MAX_BATCH_SIZE + " items per batch.", HttpStatus.BAD_REQUEST);
+            }
+            // Delete the active cars among the given IDs and return them
+            return ResponseEntity.ok(carService.deleteCars(ids));
+        } catch (Exception e) {
+            // Handle any exceptions during bulk car deletion
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Endpoint to delete a car by its ID.
      *
@@ -2,16 +2,21 @@ package com.car.carshowroombackend.controller;
 
 import com.car.carshowroombackend.dto.CarShowroomDTO;
 import com.car.carshowroombackend.services.showroom.CarShowroomService;
+import com.car.carshowroombackend.services.showroom.DropdownSnapshot;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller for managing car showroom-related operations for users.
  */
@@ -20,6 +25,9 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/user/car-showrooms")  // Base URL for car showroom-related endpoints
 public class CarShowroomController {
 
+    // Upper bound on the number of items accepted by a batch create request
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final CarShowroomService carShowroomService;  // Service for car showroom-related operations
 
     /**
@@ -63,6 +71,29 @@ public class CarShowroomController {
         }
     }
 
+    /**
+     * Endpoint to create several car showrooms in one request.
+     *
+     * @param dtos Details of the car showrooms to be created (at most {@value #MAX_BATCH_SIZE})
+     * @return ResponseEntity containing the created car showrooms or an error message
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createCarShowrooms(@RequestBody List<@Valid CarShowroomDTO> dtos) {
+        try {
+            if (dtos.size() > MAX_BATCH_SIZE) {
+                return new ResponseEntity<>("At most " + MAX_BATCH_SIZE + " items per batch.", HttpStatus.BAD_REQUEST);
+            }
+            // Create all car showrooms in one transaction with batched inserts
+            return ResponseEntity.ok(carShowroomService.createCarShowrooms(dtos));
+        } catch (IllegalArgumentException e) {
+            // Handle case where a referenced entity does not exist
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            // Handle any other exceptions during batch creation
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Endpoint to list all car showrooms with pagination.
      *
@@ -86,14 +117,20 @@ public class CarShowroomController {
 
     /**
      * Endpoint to get a dropdown list of all car showrooms.
+     * The list carries a strong ETag; a request whose If-None-Match still matches gets 304 Not Modified without a body.
      *
      * @return ResponseEntity containing the dropdown list of car showrooms or an error message
      */
     @GetMapping("/all")
     public ResponseEntity<?> getCarShowroomsDropdown() {
         try {
-            // Retrieve a list of car showrooms for dropdown selection
-            return ResponseEntity.ok(carShowroomService.getCarShowroomsDropdown());
+            // Serve the pre-serialized list; Spring compares the ETag with If-None-Match and answers 304 on a match
+            DropdownSnapshot snapshot = carShowroomService.getCarShowroomsDropdown();
+            return ResponseEntity.ok()
+                    .eTag(snapshot.eTag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(snapshot.body());
         } catch (EntityNotFoundException e) {
             // Handle case where the user associated with the request is not found
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
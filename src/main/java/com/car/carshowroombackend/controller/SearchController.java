@@ -0,0 +1,108 @@
+package com.car.carshowroombackend.controller;
+
+import com.car.carshowroombackend.enums.AutocompleteField;
+import com.car.carshowroombackend.services.search.CarSearchService;
+import com.car.carshowroombackend.services.search.SearchIndexUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for searching the car inventory.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/user/search")  // Base URL for search-related endpoints
+public class SearchController {
+
+    private static final int MAX_COMPLETIONS = 50;  // Upper bound on the completions returned per call
+
+    private final CarSearchService carSearchService;  // Service for the faceted car search
+
+    /**
+     * Endpoint to search cars with the listing filters and get facet counts alongside the results.
+     *
+     * @param pageable        Pagination information
+     * @param maker           Optional filter for car maker
+     * @param carShowroomName Optional filter for showroom name
+     * @param vin             Optional filter for VIN
+     * @param modelYear       Optional filter for model year
+     * @return ResponseEntity containing the cars and counts per maker, model year and price range, or an error message
+     */
+    @GetMapping("/cars")
+    public ResponseEntity<?> searchCars(
+            @PageableDefault(size = 10, sort = "id") Pageable pageable,
+            @RequestParam(required = false) String maker,
+            @RequestParam(required = false) String carShowroomName,
+            @RequestParam(required = false) String vin,
+            @RequestParam(required = false) Integer modelYear
+    ) {
+        try {
+            // Answer from the in-memory index, or from the database while it is warming
+            return ResponseEntity.ok(carSearchService.searchCars(pageable, maker, carShowroomName, vin, modelYear));
+        } catch (Exception e) {
+            // Handle any exceptions during the search
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Endpoint to search cars by maker, model or showroom name, tolerating typos and partial words.
+     *
+     * @param pageable Pagination information
+     * @param q        Text typed by the user
+     * @return ResponseEntity containing the cars ranked by similarity and the facet counts, or an error message
+     */
+    @GetMapping("/cars/fuzzy")
+    public ResponseEntity<?> fuzzySearchCars(@PageableDefault(size = 10) Pageable pageable, @RequestParam String q) {
+        try {
+            // Ranked matches come from the trigram postings of the in-memory index
+            return ResponseEntity.ok(carSearchService.fuzzySearchCars(pageable, q));
+        } catch (SearchIndexUnavailableException e) {
+            // Handle case where the index is still loading
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            // Handle any exceptions during the search
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Endpoint to complete a maker, model or showroom name as the user types.
+     *
+     * @param field  Attribute to complete (MAKER, MODEL or SHOWROOM)
+     * @param prefix Text typed so far
+     * @param limit  Maximum number of completions
+     * @return ResponseEntity containing the completions with their car counts, or an error message
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<?> autocomplete(
+            @RequestParam AutocompleteField field,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_COMPLETIONS) {
+            return new ResponseEntity<>("limit must be between 1 and " + MAX_COMPLETIONS + ".", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            // Served from the prefix tries of the in-memory index, never from the database
+            return ResponseEntity.ok(carSearchService.autocomplete(field, prefix, limit));
+        } catch (SearchIndexUnavailableException e) {
+            // Handle case where the index is still loading
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            // Handle any exceptions during the lookup
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.car.carshowroombackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarImportErrorDTO {
+
+    private Long line;
+
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.car.carshowroombackend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CarImportReportDTO {
+
+    private Long totalRows;
+
+    private Long importedRows;
+
+    private Long rejectedRows;
+
+    private List<CarImportErrorDTO> errors;
+
+    private Boolean errorsTruncated;
+
+    private Long elapsedMillis;
+
+    private Long rowsPerSecond;
+}
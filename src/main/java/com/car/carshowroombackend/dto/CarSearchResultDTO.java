@@ -0,0 +1,27 @@
+package com.car.carshowroombackend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class CarSearchResultDTO {
+
+    private List<CarDTO> content;
+
+    private Integer page;
+
+    private Integer size;
+
+    private Long totalElements;
+
+    private Map<String, Long> makerCounts;
+
+    private Map<Integer, Long> modelYearCounts;
+
+    private List<PriceRangeCountDTO> priceRangeCounts;
+
+    // Whether the facets were answered by the in-memory index rather than the database
+    private Boolean indexed;
+}
@@ -0,0 +1,17 @@
+package com.car.carshowroombackend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CarSliceDTO {
+
+    private List<CarDTO> content;
+
+    private Integer size;
+
+    private Boolean hasNext;
+
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.car.carshowroombackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionDTO {
+
+    private String value;
+
+    // Number of active cars holding the value
+    private Long count;
+}
@@ -1,8 +1,12 @@
 package com.car.carshowroombackend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class DropdownDTO {
 
     private Long id;
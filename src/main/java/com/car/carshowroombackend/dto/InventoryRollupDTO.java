@@ -0,0 +1,23 @@
+package com.car.carshowroombackend.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Data
+public class InventoryRollupDTO {
+
+    private OffsetDateTime bucketStart;
+
+    private Long carShowroomId;
+
+    private Integer carsAdded;
+    private Integer carsDeleted;
+
+    private Integer activeCars;
+    private BigDecimal listedValue;
+
+    private Integer usersEnabled;
+    private Integer usersDisabled;
+}
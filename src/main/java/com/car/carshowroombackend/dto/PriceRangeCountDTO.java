@@ -0,0 +1,21 @@
+package com.car.carshowroombackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRangeCountDTO {
+
+    // Inclusive lower bound, null for the first range
+    private BigDecimal from;
+
+    // Exclusive upper bound, null for the last range
+    private BigDecimal to;
+
+    private Long count;
+}
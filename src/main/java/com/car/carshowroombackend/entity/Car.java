@@ -14,7 +14,8 @@ import java.math.BigDecimal;
 public class Car {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "car_seq")
+    @SequenceGenerator(name = "car_seq", sequenceName = "car_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 25)
@@ -48,6 +49,10 @@ public class Car {
     @JoinColumn(name = "car_showroom_id", nullable = false)
     private CarShowroom carShowroom;
 
+    // Copy of the showroom name, letting the listing filter on it without joining car_showroom
+    @Column(name = "car_showroom_name", nullable = false, length = 100)
+    private String carShowroomName;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -61,7 +66,7 @@ public class Car {
         dto.setModelYear(modelYear);
         dto.setPrice(price);
         dto.setCarShowroomId(carShowroom != null ? carShowroom.getId() : null);
-        dto.setCarShowroomName(carShowroom != null ? carShowroom.getName() : null);
+        dto.setCarShowroomName(carShowroomName);
         dto.setUserId(user != null ? user.getId() : null);
         dto.setUserName(user != null ? user.getName() : null);
         return dto;
@@ -13,7 +13,7 @@ public class CarShowroom {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "car_showroom_seq")
-    @SequenceGenerator(name = "car_showroom_seq", sequenceName = "car_showroom_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "car_showroom_seq", sequenceName = "car_showroom_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
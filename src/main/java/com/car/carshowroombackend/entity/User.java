@@ -35,6 +35,9 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Boolean enabled;
 
+    @Column(name = "security_epoch", nullable = false)
+    private Integer securityEpoch = 0;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(userRole.name()));
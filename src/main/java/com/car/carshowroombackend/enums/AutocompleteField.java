@@ -0,0 +1,8 @@
+package com.car.carshowroombackend.enums;
+
+public enum AutocompleteField {
+
+    MAKER,
+    MODEL,
+    SHOWROOM
+}
@@ -0,0 +1,17 @@
+package com.car.carshowroombackend.enums;
+
+public enum RollupGranularity {
+
+    HOUR("H"),
+    DAY("D");
+
+    private final String code;
+
+    RollupGranularity(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.events;
+
+import com.car.carshowroombackend.dto.CarDTO;
+
+/**
+ * Published when a car has been created.
+ *
+ * @param car The created car.
+ */
+public record CarCreatedEvent(CarDTO car) {
+}
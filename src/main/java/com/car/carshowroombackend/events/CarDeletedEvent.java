@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.events;
+
+import com.car.carshowroombackend.dto.CarDTO;
+
+/**
+ * Published when an active car has been soft deleted.
+ *
+ * @param car The deleted car.
+ */
+public record CarDeletedEvent(CarDTO car) {
+}
@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.events;
+
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+
+/**
+ * Published when a car showroom has been created.
+ *
+ * @param showroom The created showroom.
+ */
+public record CarShowroomCreatedEvent(CarShowroomDTO showroom) {
+}
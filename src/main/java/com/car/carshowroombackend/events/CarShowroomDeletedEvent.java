@@ -0,0 +1,14 @@
+package com.car.carshowroombackend.events;
+
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+
+import java.util.List;
+
+/**
+ * Published when an active car showroom has been soft deleted.
+ *
+ * @param showroom The deleted showroom.
+ * @param carIds   Ids of the showroom's active cars, soft deleted along with it.
+ */
+public record CarShowroomDeletedEvent(CarShowroomDTO showroom, List<Long> carIds) {
+}
@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.events;
+
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+
+/**
+ * Published when a car showroom's details have been updated.
+ *
+ * @param showroom The updated showroom.
+ */
+public record CarShowroomUpdatedEvent(CarShowroomDTO showroom) {
+}
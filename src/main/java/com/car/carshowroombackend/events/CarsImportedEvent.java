@@ -0,0 +1,15 @@
+package com.car.carshowroombackend.events;
+
+import java.util.Map;
+
+/**
+ * Published when a bulk import has inserted cars.
+ *
+ * @param carsByShowroom Number of inserted cars per showroom id.
+ */
+public record CarsImportedEvent(Map<Long, Long> carsByShowroom) {
+
+    public long total() {
+        return carsByShowroom.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.events;
+
+import com.car.carshowroombackend.dto.UserDTO;
+
+/**
+ * Published when a user has signed up.
+ *
+ * @param user The created user.
+ */
+public record UserCreatedEvent(UserDTO user) {
+}
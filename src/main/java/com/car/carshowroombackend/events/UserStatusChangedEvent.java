@@ -0,0 +1,12 @@
+package com.car.carshowroombackend.events;
+
+import com.car.carshowroombackend.dto.UserDTO;
+
+/**
+ * Published when an admin has enabled or disabled a user.
+ *
+ * @param user              The user with its new status.
+ * @param previouslyEnabled Status of the user before the change.
+ */
+public record UserStatusChangedEvent(UserDTO user, boolean previouslyEnabled) {
+}
@@ -3,10 +3,15 @@ package com.car.carshowroombackend.repository;
 import com.car.carshowroombackend.entity.Car;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car>, CarRepositoryCustom {
 
-    Long countByIsDeletedFalse();
+    @Modifying
+    @Query("update Car c set c.carShowroomName = :name where c.carShowroom.id = :carShowroomId")
+    int updateCarShowroomName(@Param("carShowroomId") Long carShowroomId, @Param("name") String name);
 }
@@ -0,0 +1,33 @@
+package com.car.carshowroombackend.repository;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.entity.Car;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Read paths projecting cars straight into {@link CarDTO} without hydrating entities,
+ * and set based write paths returning the affected rows the same way.
+ */
+public interface CarRepositoryCustom {
+
+    Page<CarDTO> findAllDto(Specification<Car> spec, Pageable pageable);
+
+    List<CarDTO> findAllDto(Specification<Car> spec, Sort sort, int limit);
+
+    long forEachDto(Specification<Car> spec, Sort sort, Consumer<CarDTO> action);
+
+    List<CarDTO> softDeleteAll(Collection<Long> ids);
+
+    Map<Object, Long> countBy(Specification<Car> spec, String attribute);
+
+    long[] countByPriceRanges(Specification<Car> spec, List<BigDecimal> bounds);
+}
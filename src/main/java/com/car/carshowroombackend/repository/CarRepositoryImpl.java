@@ -0,0 +1,252 @@
+package com.car.carshowroombackend.repository;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.entity.Car;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Criteria based implementation of {@link CarRepositoryCustom}.
+ * The user name is read through a join in the same statement, the showroom name from its copy on the car, and
+ * constructed directly into {@link CarDTO}, so no managed entities or snapshots are created.
+ */
+public class CarRepositoryImpl implements CarRepositoryCustom {
+
+    // Flips the flag of the still active cars and reads them back with their names in the same statement
+    private static final String SOFT_DELETE = """
+            WITH deleted AS (
+                UPDATE car SET is_deleted = TRUE
+                WHERE id IN (:ids) AND NOT is_deleted
+                RETURNING id, vin, maker, model, model_year, price, car_showroom_id, user_id, car_showroom_name)
+            SELECT d.id, d.vin, d.maker, d.model, d.model_year, d.price, d.car_showroom_id, d.user_id, u.name,
+                   d.car_showroom_name
+            FROM deleted d
+                     JOIN users u ON u.id = d.user_id
+            ORDER BY d.id
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows fetched per round trip when streaming through a server-side cursor
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Finds a page of cars matching the specification, projected into DTOs.
+     * The count query is skipped when the page content already tells the total.
+     *
+     * @param spec     Filter to apply.
+     * @param pageable Pagination and sort settings.
+     * @return Page of CarDTOs.
+     */
+    @Override
+    public Page<CarDTO> findAllDto(Specification<Car> spec, Pageable pageable) {
+        TypedQuery<CarDTO> query = createDtoQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    /**
+     * Finds up to {@code limit} cars matching the specification in the given order, projected into DTOs.
+     *
+     * @param spec  Filter to apply.
+     * @param sort  Order of the rows.
+     * @param limit Maximum number of rows to read.
+     * @return List of CarDTOs.
+     */
+    @Override
+    public List<CarDTO> findAllDto(Specification<Car> spec, Sort sort, int limit) {
+        return createDtoQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Streams every car matching the specification in the given order through a server-side cursor,
+     * handing each DTO to the action as it is read. Only {@code fetchSize} rows are held in memory at a time;
+     * must run inside a transaction so the driver keeps the cursor open instead of buffering the whole result.
+     *
+     * @param spec   Filter to apply.
+     * @param sort   Order of the rows.
+     * @param action Callback invoked for every row.
+     * @return Number of rows streamed.
+     */
+    @Override
+    public long forEachDto(Specification<Car> spec, Sort sort, Consumer<CarDTO> action) {
+        TypedQuery<CarDTO> query = createDtoQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        long count = 0;
+        try (Stream<CarDTO> rows = query.getResultStream()) {
+            for (CarDTO dto : (Iterable<CarDTO>) rows::iterator) {
+                action.accept(dto);
+                // Nothing of the projection is managed, but drop anything the action may have loaded
+                if (++count % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Soft deletes the active cars among the given ids with a single UPDATE ... RETURNING statement.
+     *
+     * @param ids IDs of the cars to delete.
+     * @return CarDTOs of the cars which were active and are now deleted, ordered by id.
+     */
+    @Override
+    public List<CarDTO> softDeleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<?> rows = entityManager.createNativeQuery(SOFT_DELETE)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        List<CarDTO> deleted = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            deleted.add(new CarDTO(
+                    ((Number) columns[0]).longValue(),
+                    (String) columns[1],
+                    (String) columns[2],
+                    (String) columns[3],
+                    ((Number) columns[4]).intValue(),
+                    (BigDecimal) columns[5],
+                    ((Number) columns[6]).longValue(),
+                    ((Number) columns[7]).longValue(),
+                    (String) columns[8],
+                    (String) columns[9]));
+        }
+        return deleted;
+    }
+
+    /**
+     * Counts the cars matching the specification per value of an attribute, with one GROUP BY query.
+     *
+     * @param spec      Filter to apply.
+     * @param attribute Attribute to group by.
+     * @return Number of cars per attribute value.
+     */
+    @Override
+    public Map<Object, Long> countBy(Specification<Car> spec, String attribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Car> root = query.from(Car.class);
+        Path<Object> key = root.get(attribute);
+        query.multiselect(key, cb.count(root)).groupBy(key);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Map<Object, Long> counts = new LinkedHashMap<>();
+        entityManager.createQuery(query).getResultList()
+                .forEach(tuple -> counts.put(tuple.get(0), tuple.get(1, Long.class)));
+        return counts;
+    }
+
+    /**
+     * Counts the cars matching the specification per price range, with one GROUP BY query.
+     * Range i holds the prices below {@code bounds[i]}; the last range holds the rest.
+     *
+     * @param spec   Filter to apply.
+     * @param bounds Ascending bounds between the ranges.
+     * @return Number of cars per range, {@code bounds.size() + 1} entries.
+     */
+    @Override
+    public long[] countByPriceRanges(Specification<Car> spec, List<BigDecimal> bounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Car> root = query.from(Car.class);
+        Path<BigDecimal> price = root.get("price");
+
+        CriteriaBuilder.Case<Integer> range = cb.selectCase();
+        for (int i = 0; i < bounds.size(); i++) {
+            range = range.when(cb.lessThan(price, bounds.get(i)), i);
+        }
+        Expression<Integer> rangeIndex = range.otherwise(bounds.size());
+        query.multiselect(rangeIndex, cb.count(root)).groupBy(rangeIndex);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        long[] counts = new long[bounds.size() + 1];
+        entityManager.createQuery(query).getResultList()
+                .forEach(tuple -> counts[((Number) tuple.get(0)).intValue()] = tuple.get(1, Long.class));
+        return counts;
+    }
+
+    private TypedQuery<CarDTO> createDtoQuery(Specification<Car> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CarDTO> query = cb.createQuery(CarDTO.class);
+        Root<Car> root = query.from(Car.class);
+
+        // Implicit joins on the same association path are shared with the ones used by the specification
+        query.select(cb.construct(CarDTO.class,
+                root.get("id"),
+                root.get("vin"),
+                root.get("maker"),
+                root.get("model"),
+                root.get("modelYear"),
+                root.get("price"),
+                root.get("carShowroom").get("id"),
+                root.get("user").get("id"),
+                root.get("user").get("name"),
+                root.get("carShowroomName")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Car> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Car> root = query.from(Car.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,19 +1,43 @@
 package com.car.carshowroombackend.repository;
 
+import com.car.carshowroombackend.dto.DropdownDTO;
 import com.car.carshowroombackend.entity.CarShowroom;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CarShowroomRepository extends JpaRepository<CarShowroom, Long> {
+public interface CarShowroomRepository extends JpaRepository<CarShowroom, Long>, CarShowroomRepositoryCustom {
 
-    List<CarShowroom> findAllByIsDeletedFalse();
+    @Query("select new com.car.carshowroombackend.dto.DropdownDTO(s.id, s.name) from CarShowroom s "
+            + "where s.isDeleted = false order by s.name, s.id")
+    List<DropdownDTO> findDropdown();
 
     Page<CarShowroom> findAllByIsDeletedFalse(Pageable pageable);
 
-    Long countByIsDeletedFalse();
+    // FOR SHARE: a car is only added to a showroom that cannot be deleted or renamed until the car is committed
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from CarShowroom s where s.id = :id")
+    Optional<CarShowroom> findByIdForShare(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from CarShowroom s where s.id in :ids order by s.id")
+    List<CarShowroom> findAllByIdForShare(@Param("ids") Collection<Long> ids);
+
+    // Waits for the cars being added to the showroom, so statements run after it see them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CarShowroom s where s.id = :id")
+    Optional<CarShowroom> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select s.name from CarShowroom s where s.id = :id and s.isDeleted = false")
+    Optional<String> findActiveName(@Param("id") Long id);
 }
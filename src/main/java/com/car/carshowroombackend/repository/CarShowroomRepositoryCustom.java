@@ -0,0 +1,24 @@
+package com.car.carshowroombackend.repository;
+
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Set based write paths for car showrooms, returning the affected rows as DTOs.
+ */
+public interface CarShowroomRepositoryCustom {
+
+    Optional<SoftDeletedShowroom> softDeleteCascade(Long id);
+
+    /**
+     * Outcome of {@link #softDeleteCascade(Long)}.
+     *
+     * @param showroom       The showroom, with its owner's name.
+     * @param wasActive      Whether this call deleted it, rather than finding it already deleted.
+     * @param cascadedCarIds Ids of the active cars deleted along with it; empty unless it was active.
+     */
+    record SoftDeletedShowroom(CarShowroomDTO showroom, boolean wasActive, List<Long> cascadedCarIds) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.car.carshowroombackend.repository;
+
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Native SQL implementation of {@link CarShowroomRepositoryCustom}.
+ */
+public class CarShowroomRepositoryImpl implements CarShowroomRepositoryCustom {
+
+    // Locks the showroom before the cascade, in its own statement: the cascade's snapshot is then taken after any
+    // transaction adding a car to the showroom, which holds it FOR SHARE, has committed, so it sees that car too
+    private static final String LOCK = "SELECT id FROM car_showroom WHERE id = :id FOR UPDATE";
+
+    // Soft deletes the showroom and its active cars in one statement, returning the showroom with its owner's name;
+    // one row per cascaded car, or a single row with a null car id when no car was deleted.
+    // An already deleted showroom is still returned, flagged as such
+    private static final String SOFT_DELETE_CASCADE = """
+            WITH target AS (
+                SELECT id, name, commercial_registration_number, manager_name, contact_number, address, user_id,
+                       is_deleted
+                FROM car_showroom
+                WHERE id = :id),
+                 showroom AS (
+                     UPDATE car_showroom SET is_deleted = TRUE
+                     FROM target
+                     WHERE car_showroom.id = target.id AND NOT target.is_deleted
+                     RETURNING car_showroom.id),
+                 cars AS (
+                     UPDATE car SET is_deleted = TRUE
+                     FROM showroom
+                     WHERE car.car_showroom_id = showroom.id AND NOT car.is_deleted
+                     RETURNING car.id)
+            SELECT t.id, t.name, t.commercial_registration_number, t.manager_name, t.contact_number, t.address,
+                   t.user_id, u.name, t.is_deleted, c.id
+            FROM target t
+                     JOIN users u ON u.id = t.user_id
+                     LEFT JOIN cars c ON TRUE
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Soft deletes a showroom together with all of its active cars, and returns it without loading the entity.
+     * Must run inside a transaction, which keeps the showroom locked from the first statement to the commit.
+     *
+     * @param id ID of the showroom to delete.
+     * @return The showroom and the ids of the cars deleted along with it, or empty if no showroom has this id.
+     */
+    @Override
+    public Optional<SoftDeletedShowroom> softDeleteCascade(Long id) {
+        if (entityManager.createNativeQuery(LOCK).setParameter("id", id).getResultList().isEmpty()) {
+            return Optional.empty();
+        }
+        List<?> rows = entityManager.createNativeQuery(SOFT_DELETE_CASCADE)
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Object[] first = (Object[]) rows.get(0);
+        CarShowroomDTO showroom = new CarShowroomDTO();
+        showroom.setId(((Number) first[0]).longValue());
+        showroom.setName((String) first[1]);
+        showroom.setCommercialRegistrationNumber((String) first[2]);
+        showroom.setManagerName((String) first[3]);
+        showroom.setContactNumber((String) first[4]);
+        showroom.setAddress((String) first[5]);
+        showroom.setUserId(((Number) first[6]).longValue());
+        showroom.setUserName((String) first[7]);
+        boolean wasActive = !((Boolean) first[8]);
+
+        List<Long> carIds = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object carId = ((Object[]) row)[9];
+            if (carId != null) {
+                carIds.add(((Number) carId).longValue());
+            }
+        }
+        return Optional.of(new SoftDeletedShowroom(showroom, wasActive, carIds));
+    }
+}
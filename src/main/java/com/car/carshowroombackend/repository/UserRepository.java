@@ -10,13 +10,11 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     Optional<User> findFirstByEmail(String email);
 
     Optional<User> findByUserRole(UserRole userRole);
 
     Page<User> findByUserRole(Pageable pageable, UserRole userRole);
-
-    Long countByEnabledTrue();
 }
@@ -0,0 +1,23 @@
+package com.car.carshowroombackend.repository;
+
+import com.car.carshowroombackend.dto.UserDTO;
+
+import java.util.Optional;
+
+/**
+ * Set based write paths for users, returning the affected rows as DTOs.
+ */
+public interface UserRepositoryCustom {
+
+    Optional<UserStatusChange> updateStatus(Long id, boolean enabled);
+
+    /**
+     * Outcome of {@link #updateStatus(Long, boolean)}.
+     *
+     * @param user              The updated user.
+     * @param previouslyEnabled Whether the user was enabled before this change.
+     * @param securityEpoch     The user's security epoch after this change.
+     */
+    record UserStatusChange(UserDTO user, boolean previouslyEnabled, int securityEpoch) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.car.carshowroombackend.repository;
+
+import com.car.carshowroombackend.dto.UserDTO;
+import com.car.carshowroombackend.enums.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Native SQL implementation of {@link UserRepositoryCustom}.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // Sets the status and bumps the security epoch in one statement, so concurrent changes never reuse an epoch;
+    // the row is locked first so the previous status returned is the one this change replaced
+    private static final String UPDATE_STATUS = """
+            UPDATE users u
+            SET enabled = :enabled, security_epoch = u.security_epoch + 1
+            FROM (SELECT id, enabled FROM users WHERE id = :id FOR UPDATE) previous
+            WHERE u.id = previous.id
+            RETURNING u.id, u.email, u.name, u.user_role, u.enabled, u.security_epoch, previous.enabled
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Enables or disables a user and bumps their security epoch, without loading the entity.
+     *
+     * @param id      ID of the user to update.
+     * @param enabled New status of the user.
+     * @return The updated user with its previous status and new epoch, or empty if no user has this id.
+     */
+    @Override
+    public Optional<UserStatusChange> updateStatus(Long id, boolean enabled) {
+        List<?> rows = entityManager.createNativeQuery(UPDATE_STATUS)
+                .setParameter("id", id)
+                .setParameter("enabled", enabled)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Object[] row = (Object[]) rows.get(0);
+        UserDTO user = new UserDTO();
+        user.setId(((Number) row[0]).longValue());
+        user.setEmail((String) row[1]);
+        user.setName((String) row[2]);
+        user.setUserRole(UserRole.valueOf((String) row[3]));
+        user.setEnabled((Boolean) row[4]);
+        return Optional.of(new UserStatusChange(user, (Boolean) row[6], ((Number) row[5]).intValue()));
+    }
+}
@@ -5,17 +5,23 @@ import com.car.carshowroombackend.dto.StatsDTO;
 import com.car.carshowroombackend.dto.UserDTO;
 import com.car.carshowroombackend.entity.User;
 import com.car.carshowroombackend.enums.UserRole;
-import com.car.carshowroombackend.repository.CarRepository;
-import com.car.carshowroombackend.repository.CarShowroomRepository;
+import com.car.carshowroombackend.events.UserCreatedEvent;
+import com.car.carshowroombackend.events.UserStatusChangedEvent;
 import com.car.carshowroombackend.repository.UserRepository;
+import com.car.carshowroombackend.repository.UserRepositoryCustom.UserStatusChange;
+import com.car.carshowroombackend.services.jwt.TokenRevocationService;
+import com.car.carshowroombackend.services.stats.StatsService;
+import com.car.carshowroombackend.services.jwt.UserService;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -27,8 +33,11 @@ import java.util.Optional;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final CarRepository carRepository;
-    private final CarShowroomRepository carShowroomRepository;
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordEncoder passwordEncoder;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Initializes the service by creating an admin account if one does not already exist.
@@ -45,7 +54,7 @@ public class AuthServiceImpl implements AuthService {
             user.setName("Admin");
             user.setUserRole(UserRole.ADMIN);
             user.setEnabled(true);
-            user.setPassword(new BCryptPasswordEncoder().encode("admin")); // Encrypts the default admin password
+            user.setPassword(passwordEncoder.encode("admin")); // Encrypts the default admin password
             userRepository.save(user);
             System.out.println("Admin account created successfully");
         } else {
@@ -72,10 +81,12 @@ public class AuthServiceImpl implements AuthService {
         user.setName(signupRequest.getName());
         user.setUserRole(UserRole.USER);
         user.setEnabled(true);
-        user.setPassword(new BCryptPasswordEncoder().encode(signupRequest.getPassword()));
+        user.setPassword(passwordEncoder.encode(signupRequest.getPassword()));
         User createdUser = userRepository.save(user);
 
-        return createdUser.getUserDto();
+        UserDTO created = createdUser.getUserDto();
+        eventPublisher.publishEvent(new UserCreatedEvent(created));
+        return created;
     }
 
     /**
@@ -92,43 +103,33 @@ public class AuthServiceImpl implements AuthService {
 
     /**
      * Fetches statistics about users, cars, and showrooms.
+     * Served from the live counters maintained by the stats service instead of counting the tables.
      *
      * @return StatsDTO containing the counts of total and active users, cars, and showrooms.
      */
     public StatsDTO getStats() {
-        StatsDTO statsDTO = new StatsDTO();
-
-        // Get counts of total entities
-        statsDTO.setTotalUsers(userRepository.count());
-        statsDTO.setTotalCars(carRepository.count());
-        statsDTO.setTotalShowrooms(carShowroomRepository.count());
-
-        // Get counts of active (non-deleted) entities
-        statsDTO.setActiveUsers(userRepository.countByEnabledTrue());
-        statsDTO.setActiveCars(carRepository.countByIsDeletedFalse());
-        statsDTO.setActiveShowrooms(carShowroomRepository.countByIsDeletedFalse());
-
-        return statsDTO;
+        return statsService.getStats();
     }
 
     /**
      * Updates the status (enabled/disabled) of a user by user ID.
+     * The user's security epoch is bumped in the same statement, which revokes every token issued before the change,
+     * and the cached principal is evicted on every node, so the new status applies to the next request.
      *
      * @param id     ID of the user to update.
      * @param status New status for the user (true for enabled, false for disabled).
      * @return UserDto of the updated user.
      * @throws EntityNotFoundException if the user with the given ID is not found.
      */
+    @Transactional
     public UserDTO updateUserStatus(Long id, Boolean status) {
-        Optional<User> optionalUser = userRepository.findById(id);
-
-        // Check if user exists and update their status
-        if (optionalUser.isPresent()) {
-            User user = optionalUser.get();
-            user.setEnabled(status);
-            return userRepository.save(user).getUserDto();
-        } else {
-            throw new EntityNotFoundException("User not found.");
-        }
+        UserStatusChange change = userRepository.updateStatus(id, status)
+                .orElseThrow(() -> new EntityNotFoundException("User not found."));
+        UserDTO updated = change.user();
+
+        tokenRevocationService.update(updated.getId(), change.securityEpoch(), status);
+        userService.evictAuthenticatedUser(updated.getEmail());
+        eventPublisher.publishEvent(new UserStatusChangedEvent(updated, change.previouslyEnabled()));
+        return updated;
     }
 }
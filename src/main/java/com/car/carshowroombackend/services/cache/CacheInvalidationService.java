@@ -0,0 +1,14 @@
+package com.car.carshowroombackend.services.cache;
+
+public interface CacheInvalidationService {
+
+    void publish(String cacheName, Object key);
+
+    void publishAll(String cacheName);
+
+    void apply(String payload);
+
+    void evictAll();
+
+    void register(String name, InvalidationHandler handler);
+}
@@ -0,0 +1,258 @@
+package com.car.carshowroombackend.services.cache;
+
+import com.car.carshowroombackend.configs.CacheInvalidationProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Service implementation of the cross-node cache invalidation bus.
+ * Invalidations are queued once the surrounding transaction commits, batched, and published
+ * with PostgreSQL NOTIFY; {@link CacheInvalidationListener} receives them on every node and
+ * evicts the matching local entries.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationServiceImpl implements CacheInvalidationService {
+
+    // NOTIFY payloads are limited to 8000 bytes in the server encoding, keep room for the envelope
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Queue<Map.Entry<String, Object>> pending = new ConcurrentLinkedQueue<>();
+
+    // Caches to clear entirely on the other nodes
+    private final Set<String> pendingAll = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, InvalidationHandler> handlers = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final CacheInvalidationProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader messageReader;
+
+    public CacheInvalidationServiceImpl(JdbcTemplate jdbcTemplate, CacheManager cacheManager,
+                                        CacheInvalidationProperties properties, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        // Cache keys are ids or emails, read numbers back as Long so they match the local keys
+        this.messageReader = objectMapper.readerFor(InvalidationMessage.class)
+                .with(DeserializationFeature.USE_LONG_FOR_INTS);
+    }
+
+    /**
+     * Queues the invalidation of a cache entry on the other nodes.
+     * Inside a transaction the entry is queued only after the commit, so other nodes never reload the old row.
+     *
+     * @param cacheName Name of the cache holding the entry.
+     * @param key       Key of the entry to evict.
+     */
+    @Override
+    public void publish(String cacheName, Object key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map.Entry<String, Object> entry = Map.entry(cacheName, key);
+        afterCommit(() -> pending.add(entry));
+    }
+
+    /**
+     * Queues clearing a whole cache on the other nodes, for writes touching too many entries to list them,
+     * such as a bulk import. Like {@link #publish(String, Object)}, waits for the surrounding transaction to commit.
+     *
+     * @param cacheName Name of the cache, or of the registered handler, to clear.
+     */
+    @Override
+    public void publishAll(String cacheName) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> pendingAll.add(cacheName));
+    }
+
+    /**
+     * Publishes the queued invalidations, grouped by cache and split into NOTIFY sized messages.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.flush-interval:100}")
+    public void flush() {
+        if (pending.isEmpty() && pendingAll.isEmpty()) {
+            return;
+        }
+        Set<String> all = new LinkedHashSet<>();
+        for (String cacheName : pendingAll) {
+            pendingAll.remove(cacheName);
+            all.add(cacheName);
+        }
+        Map<String, Set<Object>> batch = new LinkedHashMap<>();
+        Map.Entry<String, Object> entry;
+        while ((entry = pending.poll()) != null) {
+            // Entries of a cache cleared entirely need not be listed
+            if (!all.contains(entry.getKey())) {
+                batch.computeIfAbsent(entry.getKey(), name -> new LinkedHashSet<>()).add(entry.getValue());
+            }
+        }
+
+        for (InvalidationMessage message : split(batch, all)) {
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {
+                }, properties.getChannel(), objectMapper.writeValueAsString(message));
+            } catch (JsonProcessingException | DataAccessException e) {
+                // Other nodes still drop the entries when their TTL expires
+                log.warn("Could not publish cache invalidation {}", message, e);
+            }
+        }
+    }
+
+    /**
+     * Evicts the entries listed in a notification received from another node.
+     *
+     * @param payload JSON payload of the notification.
+     */
+    @Override
+    public void apply(String payload) {
+        try {
+            InvalidationMessage message = messageReader.readValue(payload);
+            if (nodeId.equals(message.node())) {
+                return;  // Already applied locally by the write itself
+            }
+            if (message.all() != null) {
+                message.all().forEach(this::clear);
+            }
+            message.keys().forEach((cacheName, keys) -> {
+                InvalidationHandler handler = handlers.get(cacheName);
+                Cache cache = handler == null ? cacheManager.getCache(cacheName) : null;
+                if (handler != null) {
+                    keys.forEach(handler::invalidate);
+                } else if (cache != null) {
+                    keys.forEach(cache::evictIfPresent);
+                }
+            });
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation {}", payload, e);
+        }
+    }
+
+    /**
+     * Clears every local cache and registered handler. Used when notifications may have been missed.
+     */
+    @Override
+    public void evictAll() {
+        cacheManager.getCacheNames().forEach(name -> {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.invalidate();
+            }
+        });
+        handlers.values().forEach(InvalidationHandler::invalidateAll);
+    }
+
+    private void clear(String cacheName) {
+        InvalidationHandler handler = handlers.get(cacheName);
+        Cache cache = handler == null ? cacheManager.getCache(cacheName) : null;
+        if (handler != null) {
+            handler.invalidateAll();
+        } else if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Registers a handler receiving the invalidations published under the given name,
+     * for local state that is not held in the cache manager.
+     *
+     * @param name    Name the invalidations are published under.
+     * @param handler Handler applying them locally.
+     */
+    @Override
+    public void register(String name, InvalidationHandler handler) {
+        handlers.put(name, handler);
+    }
+
+    private List<InvalidationMessage> split(Map<String, Set<Object>> batch, Set<String> all) {
+        List<InvalidationMessage> messages = new ArrayList<>();
+        Map<String, List<Object>> keys = new LinkedHashMap<>();
+        // The caches cleared entirely go with the first message; their few names are counted like keys
+        Set<String> first = all.isEmpty() ? null : all;
+        int length = 0;
+        for (String cacheName : all) {
+            length += encodedLength(cacheName) + 8;
+        }
+        for (Map.Entry<String, Set<Object>> entry : batch.entrySet()) {
+            int cacheNameLength = encodedLength(entry.getKey());
+            for (Object key : entry.getValue()) {
+                // Counts the cache name for every key, plus separators, so a message is never underestimated
+                int keyLength = encodedLength(key) + cacheNameLength + 8;
+                if (length + keyLength > MAX_PAYLOAD_BYTES && !keys.isEmpty()) {
+                    messages.add(new InvalidationMessage(nodeId, keys, first));
+                    keys = new LinkedHashMap<>();
+                    first = null;
+                    length = 0;
+                }
+                keys.computeIfAbsent(entry.getKey(), name -> new ArrayList<>()).add(key);
+                length += keyLength;
+            }
+        }
+        if (!keys.isEmpty() || first != null) {
+            messages.add(new InvalidationMessage(nodeId, keys, first));
+        }
+        return messages;
+    }
+
+    /**
+     * Size of a value in the message, as the UTF-8 bytes of its JSON form: a key of non-ASCII characters takes
+     * up to four bytes per character, and escaped characters take up to six.
+     *
+     * @param value Cache name or key.
+     * @return Number of bytes the value adds to the payload.
+     */
+    private int encodedLength(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            // The message will fail to serialize as well; count the worst case so it stays on its own
+            return MAX_PAYLOAD_BYTES;
+        }
+    }
+}
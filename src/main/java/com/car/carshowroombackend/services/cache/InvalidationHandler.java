@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.services.cache;
+
+/**
+ * Receives invalidations published on the bus for state that does not live in a {@link org.springframework.cache.Cache}.
+ */
+public interface InvalidationHandler {
+
+    void invalidate(Object key);
+
+    void invalidateAll();
+}
@@ -0,0 +1,16 @@
+package com.car.carshowroombackend.services.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Payload of a cache invalidation notification: the keys to evict per cache name and the caches to clear entirely,
+ * along with the id of the node that published them.
+ *
+ * @param node Id of the publishing node.
+ * @param keys Keys to evict, grouped by cache name.
+ * @param all  Names of the caches to clear entirely; null in messages without any.
+ */
+record InvalidationMessage(String node, Map<String, List<Object>> keys, Set<String> all) {
+}
@@ -0,0 +1,115 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Opaque keyset cursor used when scrolling through cars.
+ * Holds the sort field, its direction and the (sort key, id) pair of the last row returned,
+ * so the next slice can seek directly past it instead of skipping rows with an OFFSET.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CarCursor {
+
+    /**
+     * Sort fields backed by a (key, id) index on the active cars.
+     */
+    public static final Set<String> SORT_FIELDS = Set.of("id", "price", "modelYear", "maker");
+
+    private static final String SEPARATOR = "|";
+
+    private final String field;
+
+    private final Sort.Direction direction;
+
+    private final Long id;
+
+    private final Comparable<?> value;
+
+    /**
+     * Builds the cursor pointing right after the given car.
+     *
+     * @param car   Last car of the current slice.
+     * @param order Sort order the slice was read with.
+     * @return Cursor for the next slice.
+     */
+    public static CarCursor after(CarDTO car, Sort.Order order) {
+        Comparable<?> value = switch (order.getProperty()) {
+            case "price" -> car.getPrice();
+            case "modelYear" -> car.getModelYear();
+            case "maker" -> car.getMaker();
+            default -> car.getId();
+        };
+        return new CarCursor(order.getProperty(), order.getDirection(), car.getId(), value);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param token Base64 (URL safe) cursor token.
+     * @return Decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static CarCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last so that string keys may contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            String field = parts[0];
+            if (!SORT_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unsupported sort field: " + field);
+            }
+            Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+            Comparable<?> value = switch (field) {
+                case "price" -> new BigDecimal(parts[3]);
+                case "modelYear" -> Integer.valueOf(parts[3]);
+                case "maker" -> parts[3];
+                default -> id;
+            };
+            return new CarCursor(field, direction, id, value);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return Base64 (URL safe) cursor token.
+     */
+    public String encode() {
+        String raw = field + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether this cursor was produced for the given sort order.
+     *
+     * @param order Requested sort order.
+     * @return true if both field and direction match.
+     */
+    public boolean matches(Sort.Order order) {
+        return field.equals(order.getProperty()) && direction == order.getDirection();
+    }
+
+    /**
+     * Builds the full ordering used for scrolling, using the id as tie breaker.
+     *
+     * @param order Requested sort order.
+     * @return Sort on the requested field followed by the id in the same direction.
+     */
+    public static Sort sortFor(Sort.Order order) {
+        Sort sort = Sort.by(order.getDirection(), order.getProperty());
+        return "id".equals(order.getProperty()) ? sort : sort.and(Sort.by(order.getDirection(), "id"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.enums.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes exported cars one row at a time, either as newline delimited JSON or as CSV.
+ */
+class CarExportWriter {
+
+    private static final String CSV_HEADER =
+            "id,vin,maker,model,modelYear,price,carShowroomId,carShowroomName,userId,userName";
+
+    private final ExportFormat format;
+
+    private final Writer out;
+
+    private final ObjectWriter json;
+
+    CarExportWriter(ExportFormat format, Writer out, ObjectWriter json) {
+        this.format = format;
+        this.out = out;
+        this.json = json;
+    }
+
+    /**
+     * Writes the leading header row, if the format has one.
+     */
+    void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes a single car as one line.
+     *
+     * @param car Car to write.
+     */
+    void write(CarDTO car) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            out.write(json.writeValueAsString(car));
+        } else {
+            out.write(String.valueOf(car.getId()));
+            cell(car.getVin());
+            cell(car.getMaker());
+            cell(car.getModel());
+            cell(car.getModelYear());
+            cell(car.getPrice() != null ? car.getPrice().toPlainString() : null);
+            cell(car.getCarShowroomId());
+            cell(car.getCarShowroomName());
+            cell(car.getUserId());
+            cell(car.getUserName());
+        }
+        out.write('\n');
+    }
+
+    private void cell(Object value) throws IOException {
+        out.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        // Quote only the values that need it (RFC 4180), doubling embedded quotes
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(text);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.dto.CarImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CarImportService {
+
+    CarImportReportDTO importCars(InputStream csv) throws IOException;
+}
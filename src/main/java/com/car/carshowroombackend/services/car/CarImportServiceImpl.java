@@ -0,0 +1,326 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.configs.CacheConfiguration;
+import com.car.carshowroombackend.dto.CarImportErrorDTO;
+import com.car.carshowroombackend.dto.CarImportReportDTO;
+import com.car.carshowroombackend.events.CarsImportedEvent;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service implementation of the bulk CSV car import.
+ * The upload is parsed and validated row by row while it is read, and every valid row is streamed
+ * straight into a temporary staging table over the COPY protocol. The showroom and user references are
+ * then checked and the cars inserted with one set based statement each, all in a single transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class CarImportServiceImpl implements CarImportService {
+
+    private static final String[] COLUMNS = {"vin", "maker", "model", "modelyear", "price", "carshowroomid", "userid"};
+
+    private static final int MAX_TEXT_LENGTH = 25;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE car_import
+            (
+                line_no         BIGINT      NOT NULL,
+                vin             VARCHAR(25) NOT NULL,
+                maker           VARCHAR(25) NOT NULL,
+                model           VARCHAR(25) NOT NULL,
+                model_year      INTEGER     NOT NULL,
+                price           NUMERIC     NOT NULL,
+                car_showroom_id BIGINT      NOT NULL,
+                user_id         BIGINT      NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING = """
+            COPY car_import (line_no, vin, maker, model, model_year, price, car_showroom_id, user_id)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private static final String REJECTED = """
+            SELECT i.line_no,
+                   CASE WHEN s.id IS NULL THEN 'Showroom not found' ELSE 'User not found' END
+            FROM car_import i
+                     LEFT JOIN car_showroom s ON s.id = i.car_showroom_id AND NOT s.is_deleted
+                     LEFT JOIN users u ON u.id = i.user_id
+            WHERE s.id IS NULL OR u.id IS NULL
+            ORDER BY i.line_no
+            LIMIT ?
+            """;
+
+    // The showrooms are locked FOR SHARE, so one deleted or renamed concurrently is either seen as such here or
+    // waits for the import to commit and then covers the imported cars as well
+    private static final String INSERT = """
+            WITH inserted AS (
+                INSERT INTO car (vin, maker, model, model_year, price, is_deleted, car_showroom_id, car_showroom_name,
+                                 user_id)
+                    SELECT i.vin, i.maker, i.model, i.model_year, i.price, FALSE, i.car_showroom_id, s.name, i.user_id
+                    FROM car_import i
+                             JOIN car_showroom s ON s.id = i.car_showroom_id AND NOT s.is_deleted
+                             JOIN users u ON u.id = i.user_id
+                    ORDER BY i.line_no
+                    FOR SHARE OF s
+                    RETURNING car_showroom_id)
+            SELECT car_showroom_id, count(*)
+            FROM inserted
+            GROUP BY car_showroom_id
+            """;
+
+    private final DataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    // Errors listed in the report; further errors are only counted
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    // Longest field and record read from an upload; longer rows are rejected without being held in memory
+    @Value("${app.import.max-field-length:1000}")
+    private int maxFieldLength;
+
+    @Value("${app.import.max-record-length:10000}")
+    private int maxRecordLength;
+
+    /**
+     * Imports the cars of a CSV document. The header row names the columns (vin, maker, model, modelYear,
+     * price, carShowroomId, userId, in any order, extra columns ignored), so an export can be imported back.
+     * Invalid rows are skipped and reported with their line number; the valid ones are inserted.
+     *
+     * @param csv CSV document, read once as a stream.
+     * @return CarImportReportDTO with the row counts, the rejected rows and the throughput.
+     * @throws IllegalArgumentException if the header lacks a required column or is over the length limits.
+     * @throws IOException              if reading the upload fails.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public CarImportReportDTO importCars(InputStream csv) throws IOException {
+        long started = System.nanoTime();
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 1 << 16),
+                maxFieldLength, maxRecordLength);
+
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV document is empty.");
+        }
+        int[] index = resolveColumns(header);
+
+        List<CarImportErrorDTO> errors = new ArrayList<>();
+        long rejected = 0;
+        long total = 0;
+
+        jdbcTemplate.execute(CREATE_STAGING);
+        // Closing the writer ends the COPY; if reading the upload fails the whole transaction is rolled back
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(openCopy(), StandardCharsets.UTF_8), 1 << 16)) {
+            while (true) {
+                List<String> record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    // The reader skipped the rejected record; an unterminated quote ran to the end of the input
+                    rejected++;
+                    total++;
+                    addError(errors, reader.line(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                long line = reader.line();
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue; // Skip blank lines
+                }
+
+                total++;
+                String error = writeRow(out, line, record, index);
+                if (error != null) {
+                    rejected++;
+                    addError(errors, line, error);
+                }
+            }
+        }
+
+        // Rows whose showroom or user does not exist are reported, the rest is inserted in one statement
+        long missingReferences = countMissingReferences();
+        int remaining = maxReportedErrors - errors.size();
+        if (missingReferences > 0 && remaining > 0) {
+            errors.addAll(jdbcTemplate.query(REJECTED,
+                    (rs, rowNum) -> new CarImportErrorDTO(rs.getLong(1), rs.getString(2)), remaining));
+            errors.sort(Comparator.comparing(CarImportErrorDTO::getLine));
+        }
+        rejected += missingReferences;
+
+        Map<Long, Long> carsByShowroom = new HashMap<>();
+        jdbcTemplate.query(INSERT, rs -> {
+            carsByShowroom.put(rs.getLong(1), rs.getLong(2));
+        });
+        CarsImportedEvent event = new CarsImportedEvent(carsByShowroom);
+        if (!carsByShowroom.isEmpty()) {
+            eventPublisher.publishEvent(event);
+            // Too many ids to list on the bus; the other nodes reload their car state as a whole instead
+            cacheInvalidationService.publishAll(CacheConfiguration.CARS);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        CarImportReportDTO report = new CarImportReportDTO();
+        report.setTotalRows(total);
+        report.setImportedRows(event.total());
+        report.setRejectedRows(rejected);
+        report.setErrors(errors);
+        report.setErrorsTruncated(rejected > errors.size());
+        report.setElapsedMillis(elapsedNanos / 1_000_000);
+        report.setRowsPerSecond(elapsedNanos > 0 ? total * 1_000_000_000L / elapsedNanos : total);
+        return report;
+    }
+
+    private PGCopyOutputStream openCopy() throws IOException {
+        // The transaction's own connection, so the staging table and the COPY share the session
+        try {
+            PGConnection connection = DataSourceUtils.getConnection(dataSource).unwrap(PGConnection.class);
+            return new PGCopyOutputStream(connection, COPY_STAGING, 1 << 16);
+        } catch (SQLException e) {
+            throw new IOException("Could not start the COPY into the staging table.", e);
+        }
+    }
+
+    private long countMissingReferences() {
+        Long count = jdbcTemplate.queryForObject("""
+                SELECT count(*)
+                FROM car_import i
+                WHERE NOT EXISTS (SELECT 1 FROM car_showroom s WHERE s.id = i.car_showroom_id AND NOT s.is_deleted)
+                   OR NOT EXISTS (SELECT 1 FROM users u WHERE u.id = i.user_id)
+                """, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private void addError(List<CarImportErrorDTO> errors, long line, String message) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new CarImportErrorDTO(line, message));
+        }
+    }
+
+    /**
+     * Maps each required column to its position in the header.
+     */
+    private static int[] resolveColumns(List<String> header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Accept both camelCase and snake_case headers, e.g. modelYear and model_year
+            positions.putIfAbsent(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        int[] index = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Integer position = positions.get(COLUMNS[i]);
+            if (position == null) {
+                throw new IllegalArgumentException("Missing CSV column: " + COLUMNS[i]);
+            }
+            index[i] = position;
+        }
+        return index;
+    }
+
+    /**
+     * Validates a record with the same rules as CarDTO and, if valid, writes it to the COPY stream.
+     *
+     * @return Error message, or null if the row was written.
+     */
+    private static String writeRow(Writer out, long line, List<String> record, int[] index) throws IOException {
+        String[] values = new String[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (index[i] >= record.size()) {
+                return "Missing fields";
+            }
+            values[i] = record.get(index[i]).trim();
+        }
+
+        for (int i = 0; i < 3; i++) {
+            if (values[i].isEmpty()) {
+                return COLUMNS[i] + " is required";
+            }
+            if (values[i].length() > MAX_TEXT_LENGTH) {
+                return COLUMNS[i] + " must be at most 25 characters";
+            }
+        }
+        int modelYear;
+        BigDecimal price;
+        long showroomId;
+        long userId;
+        try {
+            modelYear = Integer.parseInt(values[3]);
+        } catch (NumberFormatException e) {
+            return "Model year must be a 4-digit number";
+        }
+        if (modelYear < 0 || modelYear > 9999) {
+            return "Model year must be a 4-digit number";
+        }
+        try {
+            price = new BigDecimal(values[4]);
+        } catch (NumberFormatException e) {
+            return "Price must be a number";
+        }
+        if (price.signum() <= 0) {
+            return "Price must be greater than zero";
+        }
+        try {
+            showroomId = Long.parseLong(values[5]);
+            userId = Long.parseLong(values[6]);
+        } catch (NumberFormatException e) {
+            return "Showroom and user ids must be numbers";
+        }
+
+        out.write(Long.toString(line));
+        for (int i = 0; i < 3; i++) {
+            out.write(',');
+            quote(out, values[i]);
+        }
+        out.write(',');
+        out.write(Integer.toString(modelYear));
+        out.write(',');
+        out.write(price.toPlainString());
+        out.write(',');
+        out.write(Long.toString(showroomId));
+        out.write(',');
+        out.write(Long.toString(userId));
+        out.write('\n');
+        return null;
+    }
+
+    private static void quote(Writer out, String value) throws IOException {
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -2,14 +2,31 @@ package com.car.carshowroombackend.services.car;
 
 
 import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.dto.CarSliceDTO;
+import com.car.carshowroombackend.enums.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
 public interface CarService {
 
     CarDTO createCar(CarDTO dto);
 
+    List<CarDTO> createCars(List<CarDTO> dtos);
+
     Page<CarDTO> listCars(Pageable pageable, String maker, String carShowroomName, String vid, Integer modelYear);
 
+    CarSliceDTO scrollCars(String after, Pageable pageable, String maker, String carShowroomName, String vin,
+                           Integer modelYear);
+
+    long exportCars(ExportFormat format, OutputStream output, String maker, String carShowroomName, String vin,
+                    Integer modelYear) throws IOException;
+
     CarDTO deleteCar(Long id);
+
+    List<CarDTO> deleteCars(Collection<Long> ids);
 }
@@ -1,24 +1,44 @@
 package com.car.carshowroombackend.services.car;
 
+import com.car.carshowroombackend.configs.CacheConfiguration;
 import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.dto.CarSliceDTO;
 import com.car.carshowroombackend.entity.Car;
 import com.car.carshowroombackend.entity.CarShowroom;
 import com.car.carshowroombackend.entity.User;
+import com.car.carshowroombackend.enums.ExportFormat;
+import com.car.carshowroombackend.events.CarCreatedEvent;
+import com.car.carshowroombackend.events.CarDeletedEvent;
 import com.car.carshowroombackend.repository.CarRepository;
 import com.car.carshowroombackend.repository.CarShowroomRepository;
 import com.car.carshowroombackend.repository.UserRepository;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.criteria.Predicate;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for Car related operations.
@@ -33,6 +53,12 @@ public class CarServiceImpl implements CarService {
 
     private final CarRepository carRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final ObjectMapper objectMapper;
+
     /**
      * Creates a new Car entity based on the provided CarDTO.
      *
@@ -54,12 +80,68 @@ public class CarServiceImpl implements CarService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         car.setUser(user);
 
-        // Retrieve and set the CarShowroom associated with this car
-        CarShowroom carShowroom = showroomRepository.findById(dto.getCarShowroomId())
+        // Retrieve and set the CarShowroom associated with this car, locked until the car is committed
+        CarShowroom carShowroom = showroomRepository.findByIdForShare(dto.getCarShowroomId())
+                .filter(showroom -> !showroom.isDeleted())
                 .orElseThrow(() -> new IllegalArgumentException("Showroom not found"));
         car.setCarShowroom(carShowroom);
+        car.setCarShowroomName(carShowroom.getName());
 
-        return carRepository.save(car).getDto();
+        CarDTO created = carRepository.save(car).getDto();
+        eventPublisher.publishEvent(new CarCreatedEvent(created));
+        cacheInvalidationService.publish(CacheConfiguration.CARS, created.getId());
+        return created;
+    }
+
+    /**
+     * Creates several cars at once. The referenced users and showrooms are loaded with one IN query each, the
+     * showrooms locked FOR SHARE so they are neither deleted nor renamed before the cars are committed,
+     * and the inserts are sent as JDBC batches using ids from the pooled sequence.
+     *
+     * @param dtos CarDTOs containing the details of the cars to create.
+     * @return CarDTOs of the created cars, in the order given.
+     * @throws IllegalArgumentException if a referenced user or showroom does not exist.
+     */
+    @Transactional
+    public List<CarDTO> createCars(List<CarDTO> dtos) {
+        Map<Long, User> users = userRepository.findAllById(
+                        dtos.stream().map(CarDTO::getUserId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, CarShowroom> showrooms = showroomRepository.findAllByIdForShare(
+                        dtos.stream().map(CarDTO::getCarShowroomId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(CarShowroom::getId, Function.identity()));
+
+        List<Car> cars = new ArrayList<>(dtos.size());
+        for (CarDTO dto : dtos) {
+            Car car = new Car();
+            car.setModel(dto.getModel());
+            car.setMaker(dto.getMaker());
+            car.setModelYear(dto.getModelYear());
+            car.setVin(dto.getVin());
+            car.setDeleted(false);
+            car.setPrice(dto.getPrice());
+
+            User user = users.get(dto.getUserId());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found: " + dto.getUserId());
+            }
+            car.setUser(user);
+
+            CarShowroom carShowroom = showrooms.get(dto.getCarShowroomId());
+            if (carShowroom == null || carShowroom.isDeleted()) {
+                throw new IllegalArgumentException("Showroom not found: " + dto.getCarShowroomId());
+            }
+            car.setCarShowroom(carShowroom);
+            car.setCarShowroomName(carShowroom.getName());
+            cars.add(car);
+        }
+
+        List<CarDTO> created = carRepository.saveAll(cars).stream().map(Car::getDto).toList();
+        created.forEach(car -> {
+            eventPublisher.publishEvent(new CarCreatedEvent(car));
+            cacheInvalidationService.publish(CacheConfiguration.CARS, car.getId());
+        });
+        return created;
     }
 
     /**
@@ -72,53 +154,134 @@ public class CarServiceImpl implements CarService {
      * @param modelYear       Filter by model year.
      * @return Page of CarDTOs matching the filter criteria.
      */
+    @Transactional(readOnly = true)
     public Page<CarDTO> listCars(Pageable pageable, String maker, String carShowroomName, String vin, Integer modelYear) {
 
         // Create specifications for filtering the cars based on provided criteria
-        Specification<Car> spec = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
+        Specification<Car> spec = CarSpecifications.listing(maker, carShowroomName, vin, modelYear);
 
-            // Filter out deleted cars and showrooms
-            predicates.add(criteriaBuilder.equal(root.get("isDeleted"), false));
-            predicates.add(criteriaBuilder.equal(root.get("carShowroom").get("isDeleted"), false));
+        // Fetch paginated list of cars matching the specification, projected straight into DTOs
+        return carRepository.findAllDto(spec, pageable);
+    }
 
-            // Apply filters for each provided criterion
-            if (maker != null && !maker.isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("maker"), maker));
-            }
-            if (vin != null && !vin.isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("vin"), vin));
-            }
-            if (modelYear != null) {
-                predicates.add(criteriaBuilder.equal(root.get("modelYear"), modelYear));
-            }
-            if (carShowroomName != null && !carShowroomName.isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("carShowroom").get("name"), carShowroomName));
+    /**
+     * Scrolls through cars using keyset pagination. Instead of an OFFSET, the next slice seeks past
+     * the (sort key, id) of the last row returned, and no total count is computed, so deep slices
+     * cost the same as the first one.
+     *
+     * @param after           Opaque cursor returned with the previous slice, or null for the first slice.
+     * @param pageable        Slice size and sort order; the page number is ignored.
+     * @param maker           Filter by car maker.
+     * @param carShowroomName Filter by car showroom name.
+     * @param vin             Filter by VIN (Vehicle Identification Number).
+     * @param modelYear       Filter by model year.
+     * @return CarSliceDTO with the matching cars and the cursor of the next slice.
+     * @throws IllegalArgumentException if the sort field is not supported or the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public CarSliceDTO scrollCars(String after, Pageable pageable, String maker, String carShowroomName, String vin,
+                                  Integer modelYear) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!CarCursor.SORT_FIELDS.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+        }
+
+        Specification<Car> spec = CarSpecifications.listing(maker, carShowroomName, vin, modelYear);
+        if (after != null && !after.isEmpty()) {
+            CarCursor cursor = CarCursor.decode(after);
+            if (!cursor.matches(order)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort.");
             }
+            spec = spec.and(CarSpecifications.after(cursor));
+        }
+
+        // Read one extra row to find out whether another slice follows
+        int size = pageable.getPageSize();
+        List<CarDTO> cars = carRepository.findAllDto(spec, CarCursor.sortFor(order), size + 1);
 
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
+        List<CarDTO> content = cars.subList(0, Math.min(size, cars.size()));
+        CarSliceDTO slice = new CarSliceDTO();
+        slice.setContent(content);
+        slice.setSize(content.size());
+        slice.setHasNext(cars.size() > size);
+        slice.setNextCursor(slice.getHasNext() ? CarCursor.after(content.get(content.size() - 1), order).encode() : null);
+        return slice;
+    }
+
+    /**
+     * Exports every car matching the listing filters to the given stream, ordered by id.
+     * Rows are read through a server-side cursor and written as they arrive, so memory use does not
+     * grow with the size of the inventory.
+     *
+     * @param format          Output format (NDJSON or CSV).
+     * @param output          Stream to write to; it is flushed but not closed.
+     * @param maker           Filter by car maker.
+     * @param carShowroomName Filter by car showroom name.
+     * @param vin             Filter by VIN (Vehicle Identification Number).
+     * @param modelYear       Filter by model year.
+     * @return Number of cars written.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportCars(ExportFormat format, OutputStream output, String maker, String carShowroomName, String vin,
+                           Integer modelYear) throws IOException {
+        Specification<Car> spec = CarSpecifications.listing(maker, carShowroomName, vin, modelYear);
 
-        // Fetch paginated list of cars matching the specification
-        Page<Car> carPage = carRepository.findAll(spec, pageable);
-        return carPage.map(Car::getDto);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writerFor(CarDTO.class);
+        CarExportWriter exportWriter = new CarExportWriter(format, writer, json);
+        exportWriter.writeHeader();
+        try {
+            long count = carRepository.forEachDto(spec, Sort.by("id"), car -> {
+                try {
+                    exportWriter.write(car);
+                } catch (IOException e) {
+                    // Abort the cursor as soon as the client goes away
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     /**
-     * Soft deletes a car by setting the 'deleted' flag to true.
+     * Soft deletes a car with a single UPDATE ... RETURNING statement.
      *
      * @param id ID of the car to delete.
      * @return CarDTO of the deleted car.
      * @throws EntityNotFoundException if the car is not found.
      */
+    @Transactional
     public CarDTO deleteCar(Long id) {
-        Optional<Car> optionalCar = carRepository.findById(id);
-        if (optionalCar.isPresent()) {
-            Car car = optionalCar.get();
-            car.setDeleted(true); // Soft delete by setting deleted flag
-            return carRepository.save(car).getDto();
-        } else {
-            throw new EntityNotFoundException("Car not present.");
+        List<CarDTO> deleted = carRepository.softDeleteAll(List.of(id));
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(new CarDeletedEvent(deleted.get(0)));
+            cacheInvalidationService.publish(CacheConfiguration.CARS, id);
+            return deleted.get(0);
         }
+
+        // Nothing was updated: either the car is already deleted or it does not exist
+        return carRepository.findById(id).map(Car::getDto)
+                .orElseThrow(() -> new EntityNotFoundException("Car not present."));
+    }
+
+    /**
+     * Soft deletes several cars with a single UPDATE ... RETURNING statement.
+     * Unknown or already deleted ids are ignored.
+     *
+     * @param ids IDs of the cars to delete.
+     * @return CarDTOs of the cars that were deleted by this call, ordered by id.
+     */
+    @Transactional
+    public List<CarDTO> deleteCars(Collection<Long> ids) {
+        List<CarDTO> deleted = carRepository.softDeleteAll(ids);
+        deleted.forEach(car -> {
+            eventPublisher.publishEvent(new CarDeletedEvent(car));
+            cacheInvalidationService.publish(CacheConfiguration.CARS, car.getId());
+        });
+        return deleted;
     }
 }
@@ -0,0 +1,100 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.entity.Car;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Specifications used by the car listing endpoints.
+ */
+public final class CarSpecifications {
+
+    private CarSpecifications() {
+    }
+
+    /**
+     * Builds the listing filter shared by the paged and scrolled car listings.
+     *
+     * @param maker           Filter by car maker.
+     * @param carShowroomName Filter by car showroom name.
+     * @param vin             Filter by VIN (Vehicle Identification Number).
+     * @param modelYear       Filter by model year.
+     * @return Specification matching active cars for the provided criteria.
+     */
+    public static Specification<Car> listing(String maker, String carShowroomName, String vin, Integer modelYear) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Filter out deleted cars; deleting a showroom soft deletes its cars as well
+            predicates.add(criteriaBuilder.equal(root.get("isDeleted"), false));
+
+            // Apply filters for each provided criterion
+            if (maker != null && !maker.isEmpty()) {
+                predicates.add(criteriaBuilder.equal(root.get("maker"), maker));
+            }
+            if (vin != null && !vin.isEmpty()) {
+                predicates.add(criteriaBuilder.equal(root.get("vin"), vin));
+            }
+            if (modelYear != null) {
+                predicates.add(criteriaBuilder.equal(root.get("modelYear"), modelYear));
+            }
+            if (carShowroomName != null && !carShowroomName.isEmpty()) {
+                predicates.add(criteriaBuilder.equal(root.get("carShowroomName"), carShowroomName));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Builds the filter matching the cars with the given ids.
+     *
+     * @param ids IDs of the cars.
+     * @return Specification matching those cars.
+     */
+    public static Specification<Car> idIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Builds the keyset predicate selecting the rows that come after the given cursor.
+     *
+     * @param cursor Cursor pointing at the last row of the previous slice.
+     * @return Specification matching the rows strictly after the cursor in its sort order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Car> after(CarCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.getDirection() == Sort.Direction.ASC;
+            Path<Long> id = root.get("id");
+            if ("id".equals(cursor.getField())) {
+                return ascending
+                        ? criteriaBuilder.greaterThan(id, cursor.getId())
+                        : criteriaBuilder.lessThan(id, cursor.getId());
+            }
+            return seek(criteriaBuilder, (Path) root.get(cursor.getField()), (Comparable) cursor.getValue(),
+                    id, cursor.getId(), ascending);
+        };
+    }
+
+    /**
+     * Expands the row comparison (key, id) > (value, lastId) into a form the planner can bound with
+     * the (key, id) index: key >= value AND (key > value OR id > lastId).
+     */
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Path<Y> key, Y value,
+                                                                    Path<Long> id, Long lastId, boolean ascending) {
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(id, lastId)));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.lessThan(id, lastId)));
+    }
+}
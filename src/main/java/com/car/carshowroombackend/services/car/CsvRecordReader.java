@@ -0,0 +1,143 @@
+package com.car.carshowroombackend.services.car;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader returning one record at a time.
+ * Quoted fields may contain separators, doubled quotes and line breaks; nothing beyond the current record is buffered,
+ * and the record itself is bounded: a field or record over its limit is skipped to its end and rejected, so a stray
+ * opening quote cannot pull the rest of the upload into memory.
+ */
+class CsvRecordReader {
+
+    private final Reader in;
+
+    private final int maxFieldLength;
+
+    private final int maxRecordLength;
+
+    private int peeked = -2;
+
+    // Physical line of the next character, counting the line breaks inside quoted fields
+    private long physicalLine = 1;
+
+    private long recordLine;
+
+    CsvRecordReader(Reader in, int maxFieldLength, int maxRecordLength) {
+        this.in = in;
+        this.maxFieldLength = maxFieldLength;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Reads the next record. A rejected record is consumed entirely, so the following call reads the next one.
+     *
+     * @return Fields of the record, or null at the end of the input.
+     * @throws IllegalArgumentException if a quoted field is not terminated, or a field or the record is too long.
+     */
+    List<String> next() throws IOException {
+        recordLine = physicalLine;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        // Characters of the record so far, separators included
+        int length = 0;
+        String error = null;
+        while (true) {
+            int append = -1;
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field.");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append = '"';
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append = c;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                if (error == null && length == maxRecordLength) {
+                    error = recordTooLong();
+                }
+                if (error == null) {
+                    fields.add(field.toString());
+                    length++;
+                }
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                break;
+            } else {
+                append = c;
+            }
+
+            if (append != -1 && error == null) {
+                if (field.length() == maxFieldLength) {
+                    error = "Field longer than " + maxFieldLength + " characters.";
+                } else if (length == maxRecordLength) {
+                    error = recordTooLong();
+                } else {
+                    field.append((char) append);
+                    length++;
+                }
+            }
+            c = read();
+        }
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * @return Physical line the last record read, or rejected, started on.
+     */
+    long line() {
+        return recordLine;
+    }
+
+    private String recordTooLong() {
+        return "Record longer than " + maxRecordLength + " characters.";
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (peeked != -2) {
+            c = peeked;
+            peeked = -2;
+        } else {
+            c = in.read();
+        }
+        // A CRLF pair is one line break, counted at its LF
+        if (c == '\n' || (c == '\r' && peek() != '\n')) {
+            physicalLine++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+}
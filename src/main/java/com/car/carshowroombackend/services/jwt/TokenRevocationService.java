@@ -0,0 +1,10 @@
+package com.car.carshowroombackend.services.jwt;
+
+public interface TokenRevocationService {
+
+    boolean isCurrent(Long userId, int epoch);
+
+    void update(Long userId, int epoch, boolean enabled);
+
+    void reload();
+}
@@ -0,0 +1,129 @@
+package com.car.carshowroombackend.services.jwt;
+
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
+import com.car.carshowroombackend.services.cache.InvalidationHandler;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Service implementation of the in-memory revocation table used to authorize stateless tokens.
+ * Keeps one int per user id packing the user's security epoch and enabled flag, so a token is
+ * accepted only if it carries the current epoch of an enabled user. The table is reloaded from the
+ * database periodically, and status changes are applied on the other nodes through the invalidation bus.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    public static final String USER_SECURITY = "userSecurity";
+
+    private static final int UNKNOWN = 0;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    // State per user id: ((epoch + 1) << 1) | enabled, or UNKNOWN when the user has not been loaded yet
+    private volatile AtomicIntegerArray states = new AtomicIntegerArray(1024);
+
+    /**
+     * Subscribes to the status changes made on the other nodes.
+     */
+    @PostConstruct
+    public void subscribe() {
+        cacheInvalidationService.register(USER_SECURITY, new InvalidationHandler() {
+            @Override
+            public void invalidate(Object key) {
+                load(((Number) key).longValue());
+            }
+
+            @Override
+            public void invalidateAll() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * Checks whether a token issued with the given epoch is still accepted for the user.
+     * Users created since the last reload are looked up once and then kept in the table.
+     *
+     * @param userId Id of the user the token was issued to.
+     * @param epoch  Security epoch carried by the token.
+     * @return true if the user is enabled and the epoch is the current one.
+     */
+    @Override
+    public boolean isCurrent(Long userId, int epoch) {
+        int state = get(userId);
+        if (state == UNKNOWN) {
+            state = load(userId);
+        }
+        return state != UNKNOWN && (state & 1) == 1 && (state >>> 1) - 1 == epoch;
+    }
+
+    /**
+     * Records a new epoch and status for a user on this node and publishes it to the other nodes.
+     *
+     * @param userId  Id of the user.
+     * @param epoch   New security epoch of the user.
+     * @param enabled New status of the user.
+     */
+    @Override
+    public void update(Long userId, int epoch, boolean enabled) {
+        set(userId, encode(epoch, enabled));
+        cacheInvalidationService.publish(USER_SECURITY, userId);
+    }
+
+    /**
+     * Reloads the epoch and status of every user from the database, correcting any missed update.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval:30000}")
+    public void reload() {
+        jdbcTemplate.query("SELECT id, security_epoch, enabled FROM users",
+                rs -> {
+                    set(rs.getLong(1), encode(rs.getInt(2), rs.getBoolean(3)));
+                });
+    }
+
+    private int load(long userId) {
+        List<Integer> rows = jdbcTemplate.query("SELECT security_epoch, enabled FROM users WHERE id = ?",
+                (rs, rowNum) -> encode(rs.getInt(1), rs.getBoolean(2)), userId);
+        if (rows.isEmpty()) {
+            return UNKNOWN;
+        }
+        return set(userId, rows.get(0));
+    }
+
+    private int get(long userId) {
+        AtomicIntegerArray current = states;
+        int index = Math.toIntExact(userId);
+        return index < current.length() ? current.get(index) : UNKNOWN;
+    }
+
+    /**
+     * Stores a state, never going back to an older epoch, so a reload reading a row before
+     * a concurrent status change cannot resurrect revoked tokens.
+     */
+    private synchronized int set(long userId, int state) {
+        int index = Math.toIntExact(userId);
+        if (index >= states.length()) {
+            AtomicIntegerArray grown = new AtomicIntegerArray(Math.max(index + 1, states.length() * 2));
+            for (int i = 0; i < states.length(); i++) {
+                grown.set(i, states.get(i));
+            }
+            states = grown;
+        }
+        return states.accumulateAndGet(index, state, Math::max);
+    }
+
+    private static int encode(int epoch, boolean enabled) {
+        return ((epoch + 1) << 1) | (enabled ? 1 : 0);
+    }
+}
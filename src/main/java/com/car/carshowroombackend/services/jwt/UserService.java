@@ -1,8 +1,16 @@
 package com.car.carshowroombackend.services.jwt;
 
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 public interface UserService {
 
     UserDetailsService userDetailsService();
+
+    UserDetailsPasswordService userDetailsPasswordService();
+
+    UserDetails loadAuthenticatedUser(String email);
+
+    void evictAuthenticatedUser(String email);
 }
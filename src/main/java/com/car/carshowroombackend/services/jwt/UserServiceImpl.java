@@ -1,8 +1,14 @@
 package com.car.carshowroombackend.services.jwt;
 
+import com.car.carshowroombackend.configs.CacheConfiguration;
+import com.car.carshowroombackend.entity.User;
 import com.car.carshowroombackend.repository.UserRepository;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,6 +23,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final CacheInvalidationService cacheInvalidationService;
+
     /**
      * Provides an implementation of the UserDetailsService, which is responsible for
      * retrieving user information from the repository based on the username (email).
@@ -35,4 +43,47 @@ public class UserServiceImpl implements UserService {
             }
         };
     }
+
+    /**
+     * Provides the UserDetailsPasswordService used to store a password rehashed on login,
+     * when the stored hash was produced with a lower BCrypt cost than the configured one.
+     *
+     * @return UserDetailsPasswordService that saves the new hash to the database.
+     */
+    @Override
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = (User) userDetails;
+            user.setPassword(newPassword);
+            return userRepository.save(user);
+        };
+    }
+
+    /**
+     * Loads the principal of an authenticated request through the bounded users cache,
+     * so a valid token does not cost a database query on every request.
+     * Concurrent misses for the same email share a single load, whose latency is recorded in the cache statistics.
+     *
+     * @param email Email (username) taken from the token.
+     * @return UserDetails of the user.
+     * @throws UsernameNotFoundException if no user has the given email.
+     */
+    @Override
+    @Cacheable(value = CacheConfiguration.USERS, key = "#email", sync = true)
+    public UserDetails loadAuthenticatedUser(String email) {
+        return userRepository.findFirstByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    /**
+     * Evicts a cached principal on this node and on the other nodes, so changes such as
+     * disabling the user take effect on the next request.
+     *
+     * @param email Email (username) of the user.
+     */
+    @Override
+    @CacheEvict(value = CacheConfiguration.USERS, key = "#email")
+    public void evictAuthenticatedUser(String email) {
+        cacheInvalidationService.publish(CacheConfiguration.USERS, email);
+    }
 }
@@ -0,0 +1,15 @@
+package com.car.carshowroombackend.services.rollup;
+
+import com.car.carshowroombackend.dto.InventoryRollupDTO;
+import com.car.carshowroombackend.enums.RollupGranularity;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface InventoryRollupService {
+
+    List<InventoryRollupDTO> getRollups(RollupGranularity granularity, OffsetDateTime from, OffsetDateTime to,
+                                        Long carShowroomId);
+
+    void flush();
+}
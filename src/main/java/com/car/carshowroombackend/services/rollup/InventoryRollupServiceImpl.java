@@ -0,0 +1,260 @@
+package com.car.carshowroombackend.services.rollup;
+
+import com.car.carshowroombackend.dto.InventoryRollupDTO;
+import com.car.carshowroombackend.enums.RollupGranularity;
+import com.car.carshowroombackend.events.CarCreatedEvent;
+import com.car.carshowroombackend.events.CarDeletedEvent;
+import com.car.carshowroombackend.events.CarShowroomCreatedEvent;
+import com.car.carshowroombackend.events.CarShowroomDeletedEvent;
+import com.car.carshowroombackend.events.CarsImportedEvent;
+import com.car.carshowroombackend.events.UserStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Service implementation of the hourly and daily inventory rollups.
+ * The write paths feed per showroom and per hour deltas into memory once their transaction commits;
+ * a scheduled flush merges them into both the hourly and the daily bucket with one batched upsert,
+ * refreshing the active car count and listed value of the touched showrooms at the same time.
+ * <p>
+ * The active car count and listed value of a bucket are the showroom's level when the bucket was last flushed,
+ * not its level at the end of the bucket: a delta recorded in the last flush interval of an hour, or one retried
+ * after a failed flush, stamps that hour with a level that already includes later changes. The counts of added and
+ * deleted cars and of user status changes are exact.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryRollupServiceImpl implements InventoryRollupService {
+
+    // Bucket row holding the user status changes, which do not belong to a showroom
+    private static final long USERS_ROW = 0L;
+
+    private static final String UPSERT = """
+            INSERT INTO inventory_rollup (granularity, bucket_start, car_showroom_id, cars_added, cars_deleted,
+                                          active_cars, listed_value, users_enabled, users_disabled)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (granularity, car_showroom_id, bucket_start) DO UPDATE SET
+                cars_added     = inventory_rollup.cars_added + EXCLUDED.cars_added,
+                cars_deleted   = inventory_rollup.cars_deleted + EXCLUDED.cars_deleted,
+                active_cars    = EXCLUDED.active_cars,
+                listed_value   = EXCLUDED.listed_value,
+                users_enabled  = inventory_rollup.users_enabled + EXCLUDED.users_enabled,
+                users_disabled = inventory_rollup.users_disabled + EXCLUDED.users_disabled
+            """;
+
+    private static final String LEVELS = """
+            SELECT s.id, count(c.id), coalesce(sum(c.price), 0)
+            FROM car_showroom s
+                     LEFT JOIN car c ON c.car_showroom_id = s.id AND NOT c.is_deleted AND NOT s.is_deleted
+            WHERE s.id = ANY (?)
+            GROUP BY s.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Source of the bucket hours
+    private final Clock clock;
+
+    private final Map<BucketKey, Delta> pending = new ConcurrentHashMap<>();
+
+    // Serializes the flushes; a lock rather than synchronized so a virtual thread waiting on JDBC does not pin
+    private final Lock flushLock = new ReentrantLock();
+
+    /**
+     * Retrieves the buckets of the given granularity starting within [from, to).
+     *
+     * @param granularity   Hourly or daily buckets.
+     * @param from          Inclusive start of the range.
+     * @param to            Exclusive end of the range.
+     * @param carShowroomId Optional showroom to restrict to; 0 selects the user status buckets.
+     * @return List of InventoryRollupDTO ordered by bucket start.
+     */
+    @Override
+    public List<InventoryRollupDTO> getRollups(RollupGranularity granularity, OffsetDateTime from, OffsetDateTime to,
+                                               Long carShowroomId) {
+        String sql = """
+                SELECT bucket_start, car_showroom_id, cars_added, cars_deleted, active_cars, listed_value,
+                       users_enabled, users_disabled
+                FROM inventory_rollup
+                WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?
+                """;
+        List<Object> args = new ArrayList<>(List.of(granularity.getCode(), from, to));
+        if (carShowroomId != null) {
+            sql += " AND car_showroom_id = ?";
+            args.add(carShowroomId);
+        }
+        sql += " ORDER BY bucket_start, car_showroom_id";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            InventoryRollupDTO dto = new InventoryRollupDTO();
+            dto.setBucketStart(rs.getObject(1, OffsetDateTime.class));
+            dto.setCarShowroomId(rs.getLong(2));
+            dto.setCarsAdded(rs.getInt(3));
+            dto.setCarsDeleted(rs.getInt(4));
+            dto.setActiveCars(rs.getInt(5));
+            dto.setListedValue(rs.getBigDecimal(6));
+            dto.setUsersEnabled(rs.getInt(7));
+            dto.setUsersDisabled(rs.getInt(8));
+            return dto;
+        }, args.toArray());
+    }
+
+    /**
+     * Writes the pending deltas to the hourly and daily buckets.
+     * The hours of one day share a daily bucket, so the rows are merged per bucket first: a multi-row upsert,
+     * which the driver makes of the batch, cannot update the same row twice. The upsert runs in one transaction,
+     * and if it fails the deltas go back to the pending ones to be retried by the next flush.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.rollup.flush-interval:60000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            // Removing each key atomically with respect to compute() means no delta is lost or counted twice
+            Map<BucketKey, Delta> batch = new HashMap<>();
+            for (BucketKey key : pending.keySet()) {
+                Delta delta = pending.remove(key);
+                if (delta != null) {
+                    batch.put(key, delta);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+            } catch (RuntimeException e) {
+                batch.forEach((key, delta) -> pending.merge(key, delta, Delta::add));
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(Map<BucketKey, Delta> batch) {
+        Map<Long, Object[]> levels = new HashMap<>();
+        Long[] showroomIds = batch.keySet().stream()
+                .map(BucketKey::showroomId).filter(id -> id != USERS_ROW).distinct().toArray(Long[]::new);
+        if (showroomIds.length > 0) {
+            jdbcTemplate.query(LEVELS, rs -> {
+                levels.put(rs.getLong(1), new Object[]{rs.getInt(2), rs.getBigDecimal(3)});
+            }, (Object) showroomIds);
+        }
+
+        // One row per bucket; the daily bucket sums the deltas of all the hours of its day in this batch
+        Map<BucketRow, Delta> buckets = new LinkedHashMap<>();
+        batch.forEach((key, delta) -> {
+            OffsetDateTime hour = OffsetDateTime.ofInstant(key.hour(), ZoneOffset.UTC);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                OffsetDateTime bucketStart = granularity == RollupGranularity.DAY ? hour.truncatedTo(ChronoUnit.DAYS) : hour;
+                buckets.computeIfAbsent(new BucketRow(granularity, bucketStart, key.showroomId()), row -> new Delta())
+                        .add(delta);
+            }
+        });
+
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((row, delta) -> {
+            Object[] level = levels.getOrDefault(row.showroomId(), new Object[]{0, BigDecimal.ZERO});
+            rows.add(new Object[]{row.granularity().getCode(), row.bucketStart(), row.showroomId(), delta.carsAdded,
+                    delta.carsDeleted, level[0], level[1], delta.usersEnabled, delta.usersDisabled});
+        });
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarCreated(CarCreatedEvent event) {
+        record(event.car().getCarShowroomId(), delta -> delta.carsAdded++);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarDeleted(CarDeletedEvent event) {
+        record(event.car().getCarShowroomId(), delta -> delta.carsDeleted++);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        event.carsByShowroom().forEach((showroomId, count) ->
+                record(showroomId, delta -> delta.carsAdded += count.intValue()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomCreated(CarShowroomCreatedEvent event) {
+        record(event.showroom().getId(), delta -> {
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomDeleted(CarShowroomDeletedEvent event) {
+        // The flush records the showroom's level dropping to zero
+        int cascaded = event.carIds().size();
+        record(event.showroom().getId(), delta -> delta.carsDeleted += cascaded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        boolean enabled = Boolean.TRUE.equals(event.user().getEnabled());
+        if (enabled != event.previouslyEnabled()) {
+            record(USERS_ROW, delta -> {
+                if (enabled) {
+                    delta.usersEnabled++;
+                } else {
+                    delta.usersDisabled++;
+                }
+            });
+        }
+    }
+
+    private void record(Long showroomId, Consumer<Delta> change) {
+        BucketKey key = new BucketKey(showroomId, clock.instant().truncatedTo(ChronoUnit.HOURS));
+        pending.compute(key, (k, delta) -> {
+            Delta current = delta != null ? delta : new Delta();
+            change.accept(current);
+            return current;
+        });
+    }
+
+    private record BucketKey(long showroomId, Instant hour) {
+    }
+
+    private record BucketRow(RollupGranularity granularity, OffsetDateTime bucketStart, long showroomId) {
+    }
+
+    private static final class Delta {
+        private int carsAdded;
+        private int carsDeleted;
+        private int usersEnabled;
+        private int usersDisabled;
+
+        Delta add(Delta other) {
+            carsAdded += other.carsAdded;
+            carsDeleted += other.carsDeleted;
+            usersEnabled += other.usersEnabled;
+            usersDisabled += other.usersDisabled;
+            return this;
+        }
+    }
+}
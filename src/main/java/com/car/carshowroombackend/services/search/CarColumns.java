@@ -0,0 +1,480 @@
+package com.car.carshowroombackend.services.search;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.enums.AutocompleteField;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Column store of the active cars behind {@link CarSearchIndex}.
+ * Every attribute lives in its own primitive array indexed by row, string attributes are dictionary encoded,
+ * and the filterable facets (maker, model year, price range) keep one bitset of rows per value.
+ * The distinct maker, model and showroom names are also indexed by trigram for the fuzzy search and kept in
+ * prefix tries, with the number of active cars holding each, for the autocomplete.
+ * Rows are appended in id order; a soft delete only clears the row's bits and the space is reclaimed by the
+ * next rebuild. Not thread safe, the index guards it with a read/write lock.
+ */
+final class CarColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Bounds separating the price ranges: range i holds prices below bounds[i], the last one everything above
+    private final BigDecimal[] priceBounds;
+
+    private int size;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] vins = new String[INITIAL_CAPACITY];
+    private int[] vinHashes = new int[INITIAL_CAPACITY];
+    private int[] makers = new int[INITIAL_CAPACITY];
+    private int[] models = new int[INITIAL_CAPACITY];
+    private int[] modelYears = new int[INITIAL_CAPACITY];
+    private BigDecimal[] prices = new BigDecimal[INITIAL_CAPACITY];
+    private byte[] priceRanges = new byte[INITIAL_CAPACITY];
+    private int[] showrooms = new int[INITIAL_CAPACITY];
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private int[] userNames = new int[INITIAL_CAPACITY];
+
+    private final Dictionary makerDictionary = new Dictionary();
+    private final Dictionary modelDictionary = new Dictionary();
+    private final Dictionary userNameDictionary = new Dictionary();
+
+    // Showrooms are encoded by id, so a rename only touches this table
+    private final Map<Long, Integer> showroomCodes = new HashMap<>();
+    private final List<Long> showroomIds = new ArrayList<>();
+    private final List<String> showroomNames = new ArrayList<>();
+    private final List<RowList> showroomRows = new ArrayList<>();
+
+    private final List<RowList> modelRows = new ArrayList<>();
+
+    private final TrigramIndex makerTrigrams = new TrigramIndex();
+    private final TrigramIndex modelTrigrams = new TrigramIndex();
+    private final TrigramIndex showroomTrigrams = new TrigramIndex();
+
+    private final PrefixTrie makerCompletions = new PrefixTrie();
+    private final PrefixTrie modelCompletions = new PrefixTrie();
+    private final PrefixTrie showroomCompletions = new PrefixTrie();
+
+    private final BitSet active = new BitSet();
+    private final List<BitSet> makerRows = new ArrayList<>();
+    private final Map<Integer, BitSet> modelYearRows = new HashMap<>();
+    private final BitSet[] priceRangeRows;
+
+    // Rows appended with an id below one already present, e.g. a car created on another node
+    private final BitSet outOfOrder = new BitSet();
+    private long maxId = Long.MIN_VALUE;
+
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+
+    CarColumns(List<BigDecimal> priceBounds) {
+        this.priceBounds = priceBounds.toArray(BigDecimal[]::new);
+        this.priceRangeRows = new BitSet[this.priceBounds.length + 1];
+        for (int i = 0; i < priceRangeRows.length; i++) {
+            priceRangeRows[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Appends an active car. Cars already present are ignored, so replaying a change is harmless.
+     */
+    void add(CarDTO car) {
+        if (rowsById.containsKey(car.getId())) {
+            return;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+
+        int row = size++;
+        ids[row] = car.getId();
+        vins[row] = car.getVin();
+        vinHashes[row] = car.getVin().hashCode();
+        makers[row] = makerDictionary.encode(car.getMaker());
+        models[row] = modelDictionary.encode(car.getModel());
+        modelYears[row] = car.getModelYear();
+        prices[row] = car.getPrice();
+        priceRanges[row] = (byte) priceRange(car.getPrice());
+        showrooms[row] = showroomCode(car.getCarShowroomId(), car.getCarShowroomName());
+        userIds[row] = car.getUserId();
+        userNames[row] = userNameDictionary.encode(car.getUserName() != null ? car.getUserName() : "");
+        rowsById.put(car.getId(), row);
+
+        active.set(row);
+        if (makers[row] == makerRows.size()) {
+            makerRows.add(new BitSet());
+            makerTrigrams.add(car.getMaker(), makers[row]);
+        }
+        makerRows.get(makers[row]).set(row);
+        if (models[row] == modelRows.size()) {
+            modelRows.add(new RowList());
+            modelTrigrams.add(car.getModel(), models[row]);
+        }
+        modelRows.get(models[row]).add(row);
+        modelYearRows.computeIfAbsent(modelYears[row], year -> new BitSet()).set(row);
+        priceRangeRows[priceRanges[row]].set(row);
+        showroomRows.get(showrooms[row]).add(row);
+        adjustCompletions(row, 1);
+
+        if (car.getId() < maxId) {
+            outOfOrder.set(row);
+        } else {
+            maxId = car.getId();
+        }
+    }
+
+    /**
+     * Removes a soft deleted car from every posting. Unknown or already removed cars are ignored.
+     */
+    void remove(long id) {
+        Integer row = rowsById.get(id);
+        if (row == null || !active.get(row)) {
+            return;
+        }
+        active.clear(row);
+        makerRows.get(makers[row]).clear(row);
+        modelYearRows.get(modelYears[row]).clear(row);
+        priceRangeRows[priceRanges[row]].clear(row);
+        outOfOrder.clear(row);
+        adjustCompletions(row, -1);
+    }
+
+    /**
+     * Applies a showroom rename to all of its cars.
+     */
+    void renameShowroom(long showroomId, String name) {
+        Integer code = showroomCodes.get(showroomId);
+        if (code != null) {
+            showroomTrigrams.remove(showroomNames.get(code), code);
+            showroomTrigrams.add(name, code);
+            long cars = showroomRows.get(code).countIn(active);
+            showroomCompletions.adjust(showroomNames.get(code), -cars);
+            showroomCompletions.adjust(name, cars);
+            showroomNames.set(code, name);
+        }
+    }
+
+    /**
+     * Number of rows appended out of id order since the last rebuild.
+     */
+    int outOfOrderCount() {
+        return outOfOrder.cardinality();
+    }
+
+    /**
+     * Answers a listing query: the cars matching all given filters, in id order, and their facet counts.
+     *
+     * @param maker           Exact maker, or null.
+     * @param carShowroomName Exact showroom name, or null.
+     * @param vin             Exact VIN, or null.
+     * @param modelYear       Model year, or null.
+     * @param ascending       Id order of the page; null to compute the facets only.
+     * @param offset          Number of matching cars to skip.
+     * @param limit           Maximum number of cars to return.
+     * @return Page and facet counts.
+     */
+    CarSearchHits search(String maker, String carShowroomName, String vin, Integer modelYear, Boolean ascending,
+                         long offset, int limit) {
+        BitSet matches = filter(maker, carShowroomName, vin, modelYear);
+        List<CarDTO> content = ascending != null ? page(matches, ascending, offset, limit) : null;
+        return hits(matches, content);
+    }
+
+    /**
+     * Answers a typo tolerant search across maker, model and showroom name.
+     * Each car is scored by its best matching value; cars are ranked by score, then by id.
+     *
+     * @param query     Text typed by the user.
+     * @param threshold Minimum trigram similarity for a value to match.
+     * @param offset    Number of matching cars to skip.
+     * @param limit     Maximum number of cars to return.
+     * @return Ranked page and the facet counts of all matching cars.
+     */
+    CarSearchHits fuzzySearch(String query, float threshold, long offset, int limit) {
+        // Group the rows by score, so each group can be paged in id order straight from its bitset. A group is built
+        // as the words of a bitset: a broad query matches most showrooms, and setting their rows one by one in a
+        // BitSet dominated the search. The few distinct scores are sorted once rather than on every matching value
+        int wordCount = (size + 63) >>> 6;
+        Map<Float, long[]> groups = new HashMap<>();
+        makerTrigrams.search(query, threshold).forEach((code, score) -> {
+            long[] words = groups.computeIfAbsent(score, key -> new long[wordCount]);
+            long[] makerWords = makerRows.get(code).toLongArray();
+            for (int i = 0; i < makerWords.length; i++) {
+                words[i] |= makerWords[i];
+            }
+        });
+        modelTrigrams.search(query, threshold).forEach((code, score) ->
+                modelRows.get(code).addTo(groups.computeIfAbsent(score, key -> new long[wordCount])));
+        showroomTrigrams.search(query, threshold).forEach((code, score) ->
+                showroomRows.get(code).addTo(groups.computeIfAbsent(score, key -> new long[wordCount])));
+
+        BitSet matches = new BitSet();
+        List<CarDTO> content = new ArrayList<>(limit);
+        long skip = offset;
+        List<Float> scores = new ArrayList<>(groups.keySet());
+        scores.sort(Comparator.reverseOrder());
+        for (Float score : scores) {
+            BitSet group = BitSet.valueOf(groups.get(score));
+            // A car belongs to the group of its best score only
+            group.and(active);
+            group.andNot(matches);
+            matches.or(group);
+
+            int count = group.cardinality();
+            if (content.size() == limit) {
+                continue;
+            }
+            if (skip >= count) {
+                skip -= count;
+                continue;
+            }
+            content.addAll(page(group, true, skip, limit - content.size()));
+            skip = 0;
+        }
+        return hits(matches, content);
+    }
+
+    /**
+     * Completes a maker, model or showroom name with the most frequent values among the active cars.
+     *
+     * @param field  Attribute to complete.
+     * @param prefix Text typed so far.
+     * @param limit  Maximum number of completions.
+     * @return Completions, most frequent first.
+     */
+    List<PrefixTrie.Completion> complete(AutocompleteField field, String prefix, int limit) {
+        return switch (field) {
+            case MAKER -> makerCompletions.complete(prefix, limit);
+            case MODEL -> modelCompletions.complete(prefix, limit);
+            case SHOWROOM -> showroomCompletions.complete(prefix, limit);
+        };
+    }
+
+    /**
+     * Counts the matching rows per maker, model year and price range.
+     */
+    private CarSearchHits hits(BitSet matches, List<CarDTO> content) {
+        long total = matches.cardinality();
+        long[] makerCounts = new long[makerRows.size()];
+        Map<Integer, Long> modelYearCounts = new TreeMap<>(Comparator.reverseOrder());
+        long[] priceCounts = new long[priceRangeRows.length];
+        if (matches.equals(active)) {
+            // Unfiltered: the postings hold the counts already
+            for (int code = 0; code < makerCounts.length; code++) {
+                makerCounts[code] = makerRows.get(code).cardinality();
+            }
+            modelYearRows.forEach((year, rows) -> modelYearCounts.put(year, (long) rows.cardinality()));
+            for (int range = 0; range < priceCounts.length; range++) {
+                priceCounts[range] = priceRangeRows[range].cardinality();
+            }
+        } else {
+            // Filtered: one pass over the matching rows, reading the encoded columns. The model years are counted in
+            // an array over the range of years, as boxing a map entry per row dominated a search matching many cars
+            int firstYear = modelYearRows.keySet().stream().mapToInt(Integer::intValue).min().orElse(0);
+            int lastYear = modelYearRows.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+            long[] yearCounts = new long[lastYear - firstYear + 1];
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                makerCounts[makers[row]]++;
+                yearCounts[modelYears[row] - firstYear]++;
+                priceCounts[priceRanges[row]]++;
+            }
+            for (int year = 0; year < yearCounts.length; year++) {
+                modelYearCounts.put(firstYear + year, yearCounts[year]);
+            }
+        }
+        modelYearCounts.values().removeIf(count -> count == 0);
+
+        return new CarSearchHits(content, total, sortedMakerCounts(makerCounts), modelYearCounts, priceCounts);
+    }
+
+    private BitSet filter(String maker, String carShowroomName, String vin, Integer modelYear) {
+        BitSet matches = (BitSet) active.clone();
+        if (maker != null && !maker.isEmpty()) {
+            int code = makerDictionary.find(maker);
+            if (code < 0) {
+                return new BitSet();
+            }
+            matches.and(makerRows.get(code));
+        }
+        if (modelYear != null) {
+            BitSet rows = modelYearRows.get(modelYear);
+            if (rows == null) {
+                return new BitSet();
+            }
+            matches.and(rows);
+        }
+        if (carShowroomName != null && !carShowroomName.isEmpty()) {
+            BitSet rows = new BitSet();
+            for (int code = 0; code < showroomNames.size(); code++) {
+                if (carShowroomName.equals(showroomNames.get(code))) {
+                    showroomRows.get(code).addTo(rows);
+                }
+            }
+            matches.and(rows);
+        }
+        if (vin != null && !vin.isEmpty()) {
+            // Compare the hashes first and the strings only on a hit
+            int hash = vin.hashCode();
+            BitSet rows = new BitSet();
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                if (vinHashes[row] == hash && vin.equals(vins[row])) {
+                    rows.set(row);
+                }
+            }
+            matches = rows;
+        }
+        return matches;
+    }
+
+    /**
+     * Reads a page in id order. Rows appended in id order are already sorted by row number; the few rows
+     * appended out of order are sorted separately and merged in.
+     */
+    private List<CarDTO> page(BitSet matches, boolean ascending, long offset, int limit) {
+        BitSet late = (BitSet) matches.clone();
+        late.and(outOfOrder);
+        BitSet sorted = matches;
+        if (!late.isEmpty()) {
+            sorted = (BitSet) matches.clone();
+            sorted.andNot(outOfOrder);
+        }
+        int[] lateRows = late.stream().boxed()
+                .sorted(ascending ? Comparator.comparingLong(row -> ids[row])
+                        : Comparator.<Integer>comparingLong(row -> ids[row]).reversed())
+                .mapToInt(Integer::intValue).toArray();
+
+        List<CarDTO> content = new ArrayList<>(limit);
+        int next = ascending ? sorted.nextSetBit(0) : sorted.previousSetBit(size - 1);
+        int lateIndex = 0;
+        long skipped = 0;
+        while (content.size() < limit && (next >= 0 || lateIndex < lateRows.length)) {
+            int row;
+            boolean takeLate = lateIndex < lateRows.length
+                    && (next < 0 || (ascending ? ids[lateRows[lateIndex]] < ids[next] : ids[lateRows[lateIndex]] > ids[next]));
+            if (takeLate) {
+                row = lateRows[lateIndex++];
+            } else {
+                row = next;
+                next = ascending ? sorted.nextSetBit(next + 1) : (next > 0 ? sorted.previousSetBit(next - 1) : -1);
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                content.add(toDto(row));
+            }
+        }
+        return content;
+    }
+
+    private CarDTO toDto(int row) {
+        int showroom = showrooms[row];
+        return new CarDTO(ids[row], vins[row], makerDictionary.decode(makers[row]), modelDictionary.decode(models[row]),
+                modelYears[row], prices[row], showroomIds.get(showroom), userIds[row],
+                userNameDictionary.decode(userNames[row]), showroomNames.get(showroom));
+    }
+
+    private Map<String, Long> sortedMakerCounts(long[] counts) {
+        Integer[] codes = new Integer[counts.length];
+        for (int code = 0; code < codes.length; code++) {
+            codes[code] = code;
+        }
+        Arrays.sort(codes, (a, b) -> Long.compare(counts[b], counts[a]));
+
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        for (int code : codes) {
+            if (counts[code] > 0) {
+                sorted.put(makerDictionary.decode(code), counts[code]);
+            }
+        }
+        return sorted;
+    }
+
+    private void adjustCompletions(int row, long delta) {
+        makerCompletions.adjust(makerDictionary.decode(makers[row]), delta);
+        modelCompletions.adjust(modelDictionary.decode(models[row]), delta);
+        showroomCompletions.adjust(showroomNames.get(showrooms[row]), delta);
+    }
+
+    private int priceRange(BigDecimal price) {
+        int range = 0;
+        while (range < priceBounds.length && price.compareTo(priceBounds[range]) >= 0) {
+            range++;
+        }
+        return range;
+    }
+
+    private int showroomCode(Long showroomId, String name) {
+        Integer code = showroomCodes.get(showroomId);
+        if (code == null) {
+            code = showroomIds.size();
+            showroomCodes.put(showroomId, code);
+            showroomIds.add(showroomId);
+            showroomNames.add(name);
+            showroomRows.add(new RowList());
+            showroomTrigrams.add(name, code);
+        }
+        return code;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        vins = Arrays.copyOf(vins, capacity);
+        vinHashes = Arrays.copyOf(vinHashes, capacity);
+        makers = Arrays.copyOf(makers, capacity);
+        models = Arrays.copyOf(models, capacity);
+        modelYears = Arrays.copyOf(modelYears, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        priceRanges = Arrays.copyOf(priceRanges, capacity);
+        showrooms = Arrays.copyOf(showrooms, capacity);
+        userIds = Arrays.copyOf(userIds, capacity);
+        userNames = Arrays.copyOf(userNames, capacity);
+    }
+
+    /**
+     * Growable list of row numbers; a bitset per showroom would cost a bit per car for each of them.
+     */
+    private static final class RowList {
+
+        private int[] rows = new int[8];
+
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size << 1);
+            }
+            rows[size++] = row;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(rows[i]);
+            }
+        }
+
+        void addTo(long[] words) {
+            for (int i = 0; i < size; i++) {
+                words[rows[i] >>> 6] |= 1L << rows[i];
+            }
+        }
+
+        long countIn(BitSet filter) {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                if (filter.get(rows[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
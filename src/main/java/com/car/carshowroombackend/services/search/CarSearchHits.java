@@ -0,0 +1,19 @@
+package com.car.carshowroombackend.services.search;
+
+import com.car.carshowroombackend.dto.CarDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page of cars and facet counts answered by the in-memory search index.
+ *
+ * @param content     Cars of the requested page, or null when only the facets were asked for.
+ * @param total       Number of cars matching the filters.
+ * @param makers      Matching cars per maker.
+ * @param modelYears  Matching cars per model year.
+ * @param priceRanges Matching cars per price range, in the order of the configured bounds.
+ */
+record CarSearchHits(List<CarDTO> content, long total, Map<String, Long> makers, Map<Integer, Long> modelYears,
+                     long[] priceRanges) {
+}
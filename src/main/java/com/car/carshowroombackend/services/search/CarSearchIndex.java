@@ -0,0 +1,369 @@
+package com.car.carshowroombackend.services.search;
+
+import com.car.carshowroombackend.configs.CacheConfiguration;
+import com.car.carshowroombackend.configs.SearchProperties;
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.enums.AutocompleteField;
+import com.car.carshowroombackend.events.CarCreatedEvent;
+import com.car.carshowroombackend.events.CarDeletedEvent;
+import com.car.carshowroombackend.events.CarShowroomDeletedEvent;
+import com.car.carshowroombackend.events.CarShowroomUpdatedEvent;
+import com.car.carshowroombackend.events.CarsImportedEvent;
+import com.car.carshowroombackend.repository.CarRepository;
+import com.car.carshowroombackend.repository.CarShowroomRepository;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
+import com.car.carshowroombackend.services.cache.InvalidationHandler;
+import com.car.carshowroombackend.services.car.CarSpecifications;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process search index over the active cars.
+ * Loaded from the database in the background at startup and rebuilt periodically; in between it follows
+ * the local writes through their events and the writes of the other nodes through the invalidation bus.
+ * Changes arriving while a rebuild streams the table are replayed onto the new columns before they are swapped in.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SearchProperties.class)
+public class CarSearchIndex {
+
+    // Number of ids reloaded per query when applying the changes published by the other nodes
+    private static final int REFRESH_CHUNK = 1000;
+
+    private final CarRepository carRepository;
+
+    private final CarShowroomRepository showroomRepository;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final SearchProperties properties;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("car-search-index").daemon().factory());
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private final Queue<Long> refreshIds = new ConcurrentLinkedQueue<>();
+
+    // Guarded by the lock; null until the first load completes
+    private CarColumns columns;
+
+    // Guarded by the lock; changes recorded while a rebuild is reading the table, null otherwise
+    private List<Consumer<CarColumns>> pendingChanges;
+
+    public CarSearchIndex(CarRepository carRepository, CarShowroomRepository showroomRepository,
+                          CacheInvalidationService cacheInvalidationService, SearchProperties properties,
+                          PlatformTransactionManager transactionManager) {
+        this.carRepository = carRepository;
+        this.showroomRepository = showroomRepository;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Subscribes to the car changes and showroom renames made on the other nodes.
+     */
+    @PostConstruct
+    public void subscribe() {
+        cacheInvalidationService.register(CacheConfiguration.CARS, new InvalidationHandler() {
+            @Override
+            public void invalidate(Object key) {
+                refreshIds.add(((Number) key).longValue());
+                if (refreshQueued.compareAndSet(false, true)) {
+                    worker.execute(CarSearchIndex.this::refresh);
+                }
+            }
+
+            @Override
+            public void invalidateAll() {
+                requestRebuildIfLoaded();
+            }
+        });
+        cacheInvalidationService.register(CacheConfiguration.SHOWROOM_NAMES, new InvalidationHandler() {
+            @Override
+            public void invalidate(Object key) {
+                long showroomId = ((Number) key).longValue();
+                worker.execute(() -> refreshShowroomName(showroomId));
+            }
+
+            @Override
+            public void invalidateAll() {
+                requestRebuildIfLoaded();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Answers a listing query from memory.
+     *
+     * @param maker           Exact maker, or null.
+     * @param carShowroomName Exact showroom name, or null.
+     * @param vin             Exact VIN, or null.
+     * @param modelYear       Model year, or null.
+     * @param ascending       Id order of the page; null to compute the facets only.
+     * @param offset          Number of matching cars to skip.
+     * @param limit           Maximum number of cars to return.
+     * @return Page and facet counts, or null while the index is not loaded.
+     */
+    CarSearchHits search(String maker, String carShowroomName, String vin, Integer modelYear, Boolean ascending,
+                         long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (!properties.isEnabled() || columns == null) {
+                return null;
+            }
+            return columns.search(maker, carShowroomName, vin, modelYear, ascending, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Answers a typo tolerant query across maker, model and showroom name from memory.
+     *
+     * @param query  Text typed by the user.
+     * @param offset Number of matching cars to skip.
+     * @param limit  Maximum number of cars to return.
+     * @return Ranked page and facet counts, or null while the index is not loaded.
+     */
+    CarSearchHits fuzzySearch(String query, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (!properties.isEnabled() || columns == null) {
+                return null;
+            }
+            return columns.fuzzySearch(query, properties.getFuzzyThreshold(), offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Completes a maker, model or showroom name from memory.
+     *
+     * @param field  Attribute to complete.
+     * @param prefix Text typed so far.
+     * @param limit  Maximum number of completions.
+     * @return Completions, most frequent first, or null while the index is not loaded.
+     */
+    List<PrefixTrie.Completion> complete(AutocompleteField field, String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            if (!properties.isEnabled() || columns == null) {
+                return null;
+            }
+            return columns.complete(field, prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database, compacting the rows of deleted cars and restoring the id order.
+     * The first run also serves as the initial load.
+     */
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval:600000}")
+    public void requestRebuild() {
+        if (properties.isEnabled() && rebuildQueued.compareAndSet(false, true)) {
+            worker.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Rebuilds the index on a full invalidation, unless the first load has not completed yet: that load reads the
+     * whole table anyway. This keeps the invalidation bus flushing everything on its first connection from
+     * loading the index twice at startup.
+     */
+    private void requestRebuildIfLoaded() {
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarCreated(CarCreatedEvent event) {
+        CarDTO car = event.car();
+        apply(columns -> columns.add(car));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarDeleted(CarDeletedEvent event) {
+        long id = event.car().getId();
+        apply(columns -> columns.remove(id));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomUpdated(CarShowroomUpdatedEvent event) {
+        long id = event.showroom().getId();
+        String name = event.showroom().getName();
+        apply(columns -> columns.renameShowroom(id, name));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomDeleted(CarShowroomDeletedEvent event) {
+        List<Long> carIds = event.carIds();
+        apply(columns -> carIds.forEach(columns::remove));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        // The import does not hand out the new rows, read them back with the rest of the table
+        requestRebuild();
+    }
+
+    private void apply(Consumer<CarColumns> change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            if (columns == null) {
+                return;
+            }
+            change.accept(columns);
+            compact = columns.outOfOrderCount() > properties.getMaxOutOfOrderRows();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            requestRebuild();
+        }
+    }
+
+    private void rebuild() {
+        rebuildQueued.set(false);
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        CarColumns fresh = new CarColumns(properties.getPriceBounds());
+        long started = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> carRepository.forEachDto(
+                    CarSpecifications.listing(null, null, null, null), Sort.by("id"), fresh::add));
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the car search index", e);
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Replay what happened while the table was being read; the changes are idempotent
+            pendingChanges.forEach(change -> change.accept(fresh));
+            pendingChanges = null;
+            columns = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Car search index rebuilt in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Reloads the cars changed on the other nodes: the active ones are added and the rest removed.
+     */
+    private void refresh() {
+        refreshQueued.set(false);
+        Set<Long> ids = new HashSet<>();
+        Long id;
+        while ((id = refreshIds.poll()) != null) {
+            ids.add(id);
+        }
+
+        List<Long> chunk = new ArrayList<>(REFRESH_CHUNK);
+        for (Long changed : ids) {
+            chunk.add(changed);
+            if (chunk.size() == REFRESH_CHUNK) {
+                refresh(chunk);
+                chunk = new ArrayList<>(REFRESH_CHUNK);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            refresh(chunk);
+        }
+    }
+
+    /**
+     * Copies the current name of a showroom renamed on another node onto its cars; a deleted showroom has no
+     * active cars left to rename.
+     */
+    private void refreshShowroomName(long showroomId) {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> showroomRepository.findActiveName(showroomId)
+                    .ifPresent(name -> apply(columns -> columns.renameShowroom(showroomId, name))));
+        } catch (RuntimeException e) {
+            // The next rebuild picks the new name up
+            log.warn("Could not refresh the name of showroom {} in the search index", showroomId, e);
+        }
+    }
+
+    private void refresh(List<Long> ids) {
+        try {
+            List<CarDTO> activeCars = carRepository.findAllDto(
+                    CarSpecifications.listing(null, null, null, null).and(CarSpecifications.idIn(ids)),
+                    Sort.by("id"), ids.size());
+            Set<Long> activeIds = new HashSet<>();
+            activeCars.forEach(car -> activeIds.add(car.getId()));
+            apply(columns -> {
+                activeCars.forEach(columns::add);
+                ids.stream().filter(changed -> !activeIds.contains(changed)).forEach(columns::remove);
+            });
+        } catch (RuntimeException e) {
+            // The next rebuild picks the changes up
+            log.warn("Could not refresh {} cars in the search index", ids.size(), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.car.carshowroombackend.services.search;
+
+import com.car.carshowroombackend.dto.CarSearchResultDTO;
+import com.car.carshowroombackend.dto.CompletionDTO;
+import com.car.carshowroombackend.enums.AutocompleteField;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface CarSearchService {
+
+    CarSearchResultDTO searchCars(Pageable pageable, String maker, String carShowroomName, String vin,
+                                  Integer modelYear);
+
+    CarSearchResultDTO fuzzySearchCars(Pageable pageable, String query);
+
+    List<CompletionDTO> autocomplete(AutocompleteField field, String prefix, int limit);
+}
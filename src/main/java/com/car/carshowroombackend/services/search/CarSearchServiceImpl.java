@@ -0,0 +1,172 @@
+package com.car.carshowroombackend.services.search;
+
+import com.car.carshowroombackend.configs.SearchProperties;
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.dto.CarSearchResultDTO;
+import com.car.carshowroombackend.dto.CompletionDTO;
+import com.car.carshowroombackend.dto.PriceRangeCountDTO;
+import com.car.carshowroombackend.entity.Car;
+import com.car.carshowroombackend.enums.AutocompleteField;
+import com.car.carshowroombackend.repository.CarRepository;
+import com.car.carshowroombackend.services.car.CarSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service implementation of the faceted car search.
+ * Queries are answered from {@link CarSearchIndex} when it is loaded and the requested order is by id;
+ * otherwise the page, and while the index is warming the facets too, come from the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class CarSearchServiceImpl implements CarSearchService {
+
+    private final CarSearchIndex carSearchIndex;
+
+    private final CarRepository carRepository;
+
+    private final SearchProperties properties;
+
+    /**
+     * Lists the cars matching the listing filters together with their counts per maker, model year and price range.
+     *
+     * @param pageable        Pageable object for pagination settings.
+     * @param maker           Filter by car maker.
+     * @param carShowroomName Filter by car showroom name.
+     * @param vin             Filter by VIN (Vehicle Identification Number).
+     * @param modelYear       Filter by model year.
+     * @return CarSearchResultDTO with the page of cars and the facet counts under the same filters.
+     */
+    @Override
+    public CarSearchResultDTO searchCars(Pageable pageable, String maker, String carShowroomName, String vin,
+                                         Integer modelYear) {
+        // The index keeps the rows in id order, any other order is read from the database
+        Boolean ascending = idOrder(pageable.getSort());
+        CarSearchHits hits = carSearchIndex.search(maker, carShowroomName, vin, modelYear, ascending,
+                pageable.getOffset(), pageable.getPageSize());
+
+        CarSearchResultDTO result = new CarSearchResultDTO();
+        result.setPage(pageable.getPageNumber());
+        result.setSize(pageable.getPageSize());
+        result.setIndexed(hits != null);
+
+        Specification<Car> spec = CarSpecifications.listing(maker, carShowroomName, vin, modelYear);
+        if (hits != null && hits.content() != null) {
+            result.setContent(hits.content());
+            result.setTotalElements(hits.total());
+        } else {
+            Page<CarDTO> page = carRepository.findAllDto(spec, pageable);
+            result.setContent(page.getContent());
+            result.setTotalElements(page.getTotalElements());
+        }
+
+        if (hits != null) {
+            result.setMakerCounts(hits.makers());
+            result.setModelYearCounts(hits.modelYears());
+            result.setPriceRangeCounts(priceRangeCounts(hits.priceRanges()));
+        } else {
+            result.setMakerCounts(makerCounts(carRepository.countBy(spec, "maker")));
+            result.setModelYearCounts(modelYearCounts(carRepository.countBy(spec, "modelYear")));
+            result.setPriceRangeCounts(priceRangeCounts(carRepository.countByPriceRanges(spec, properties.getPriceBounds())));
+        }
+        return result;
+    }
+
+    /**
+     * Searches the cars whose maker, model or showroom name resembles the query, tolerating typos and prefixes.
+     * Results are ranked by similarity, then by id; there is no database fallback, the ranking only exists in memory.
+     *
+     * @param pageable Pageable object for pagination settings; the sort is ignored.
+     * @param query    Text typed by the user.
+     * @return CarSearchResultDTO with the ranked page of cars and the facet counts of all matches.
+     * @throws SearchIndexUnavailableException if the index is not loaded yet.
+     */
+    @Override
+    public CarSearchResultDTO fuzzySearchCars(Pageable pageable, String query) {
+        CarSearchHits hits = carSearchIndex.fuzzySearch(query, pageable.getOffset(), pageable.getPageSize());
+        if (hits == null) {
+            throw new SearchIndexUnavailableException("Search index is loading, try again shortly.");
+        }
+
+        CarSearchResultDTO result = new CarSearchResultDTO();
+        result.setPage(pageable.getPageNumber());
+        result.setSize(pageable.getPageSize());
+        result.setIndexed(true);
+        result.setContent(hits.content());
+        result.setTotalElements(hits.total());
+        result.setMakerCounts(hits.makers());
+        result.setModelYearCounts(hits.modelYears());
+        result.setPriceRangeCounts(priceRangeCounts(hits.priceRanges()));
+        return result;
+    }
+
+    /**
+     * Completes a maker, model or showroom name with the values most common among the active cars.
+     *
+     * @param field  Attribute to complete.
+     * @param prefix Text typed so far.
+     * @param limit  Maximum number of completions.
+     * @return List of CompletionDTO, most frequent first.
+     * @throws SearchIndexUnavailableException if the index is not loaded yet.
+     */
+    @Override
+    public List<CompletionDTO> autocomplete(AutocompleteField field, String prefix, int limit) {
+        List<PrefixTrie.Completion> completions = carSearchIndex.complete(field, prefix, limit);
+        if (completions == null) {
+            throw new SearchIndexUnavailableException("Search index is loading, try again shortly.");
+        }
+        return completions.stream()
+                .map(completion -> new CompletionDTO(completion.value(), completion.count()))
+                .toList();
+    }
+
+    /**
+     * Returns the direction if the sort is by id only (or unsorted), null otherwise.
+     */
+    private static Boolean idOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() == 1 && "id".equals(orders.get(0).getProperty())) {
+            return orders.get(0).isAscending();
+        }
+        return null;
+    }
+
+    private List<PriceRangeCountDTO> priceRangeCounts(long[] counts) {
+        List<BigDecimal> bounds = properties.getPriceBounds();
+        List<PriceRangeCountDTO> ranges = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            ranges.add(new PriceRangeCountDTO(i == 0 ? null : bounds.get(i - 1), i < bounds.size() ? bounds.get(i) : null,
+                    counts[i]));
+        }
+        return ranges;
+    }
+
+    private static Map<String, Long> makerCounts(Map<Object, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<Object, Long>comparingByValue().reversed())
+                .forEach(entry -> sorted.put((String) entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static Map<Integer, Long> modelYearCounts(Map<Object, Long> counts) {
+        Map<Integer, Long> sorted = new TreeMap<>(Comparator.reverseOrder());
+        counts.forEach((year, count) -> sorted.put((Integer) year, count));
+        return sorted;
+    }
+}
@@ -0,0 +1,46 @@
+package com.car.carshowroombackend.services.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of a string column: each distinct value is stored once and rows hold its int code.
+ * Codes are assigned in order of first appearance and never reused.
+ */
+final class Dictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code of the value, assigning a new one if it has not been seen yet.
+     */
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code of the value, or -1 if it has never been seen.
+     */
+    int find(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    String decode(int code) {
+        return values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
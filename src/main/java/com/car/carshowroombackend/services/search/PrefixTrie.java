@@ -0,0 +1,114 @@
+package com.car.carshowroombackend.services.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix tree over the distinct values of a column, each with the number of active cars holding it.
+ * Keys are normalized like {@link TrigramIndex} does, so "merc" completes "Mercedes-Benz".
+ * Every node remembers the highest count below it, which lets a completion visit the branches best first
+ * and stop after k values instead of enumerating everything under the prefix.
+ */
+final class PrefixTrie {
+
+    private final Node root = new Node();
+
+    /**
+     * Changes the number of cars holding a value; values dropping to zero are no longer completed.
+     */
+    void adjust(String value, long delta) {
+        String key = TrigramIndex.normalize(value);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            path.add(node);
+        }
+        if (node.value == null || node.count == 0) {
+            node.value = value;
+        }
+        node.count = Math.max(0, node.count + delta);
+
+        // Refresh the best counts bottom up, stopping as soon as a node is unaffected
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            long best = current.count;
+            for (Node child : current.children.values()) {
+                best = Math.max(best, child.best);
+            }
+            if (best == current.best) {
+                break;
+            }
+            current.best = best;
+        }
+    }
+
+    /**
+     * Returns the most frequent values starting with the prefix, most frequent first.
+     *
+     * @param prefix Text typed so far; blank completes from the top of the tree.
+     * @param limit  Maximum number of completions.
+     * @return Value and count of each completion.
+     */
+    List<Completion> complete(String prefix, int limit) {
+        String key = TrigramIndex.normalize(prefix);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        List<Completion> completions = new ArrayList<>(limit);
+        if (node == null || node.best == 0) {
+            return completions;
+        }
+
+        // Nodes are queued with the best count below them, values with their own count; a value popped
+        // before any node therefore outranks everything still unexplored
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(
+                Comparator.comparingLong(Candidate::count).reversed()
+                        .thenComparing(Candidate::terminal, Comparator.reverseOrder()));
+        queue.add(new Candidate(node, node.best, false));
+        while (!queue.isEmpty() && completions.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node current = candidate.node();
+            if (candidate.terminal()) {
+                completions.add(new Completion(current.value, current.count));
+                continue;
+            }
+            if (current.count > 0) {
+                queue.add(new Candidate(current, current.count, true));
+            }
+            for (Node child : current.children.values()) {
+                if (child.best > 0) {
+                    queue.add(new Candidate(child, child.best, false));
+                }
+            }
+        }
+        return completions;
+    }
+
+    record Completion(String value, long count) {
+    }
+
+    private record Candidate(Node node, long count, boolean terminal) {
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+
+        // Original spelling of the value ending here, null for inner nodes
+        private String value;
+
+        private long count;
+
+        private long best;
+    }
+}
@@ -0,0 +1,16 @@
+package com.car.carshowroombackend.services.search;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a query can only be answered by the in-memory search index and the index is not loaded yet.
+ */
+public class SearchIndexUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public SearchIndexUnavailableException(String message) {
+        super(message);
+    }
+}
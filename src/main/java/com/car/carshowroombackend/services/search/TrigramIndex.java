@@ -0,0 +1,144 @@
+package com.car.carshowroombackend.services.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Typo tolerant lookup over the distinct values of a dictionary encoded column.
+ * Values are normalized (case, accents and punctuation folded, so "Mercedes-Benz" equals "mercedes benz") and
+ * split into trigrams the way pg_trgm does; a query is scored against every value sharing a trigram with it by
+ * trigram similarity, and values starting with the query are ranked as prefix matches.
+ * Only the distinct values are indexed, a few thousand at most, so a lookup never looks at the cars themselves.
+ */
+final class TrigramIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Term> terms = new HashMap<>();
+
+    private final Map<String, List<Term>> postings = new HashMap<>();
+
+    /**
+     * Associates a value with a code of the column.
+     */
+    void add(String value, int code) {
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Term term = terms.get(normalized);
+        if (term == null) {
+            Set<String> trigrams = trigrams(normalized);
+            term = new Term(normalized, trigrams.size());
+            terms.put(normalized, term);
+            for (String trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new ArrayList<>()).add(term);
+            }
+        }
+        term.codes.add(code);
+    }
+
+    /**
+     * Removes the association between a value and a code, e.g. when a showroom is renamed.
+     */
+    void remove(String value, int code) {
+        Term term = terms.get(normalize(value));
+        if (term != null) {
+            term.codes.remove(code);
+        }
+    }
+
+    /**
+     * Scores the codes whose value resembles the query.
+     *
+     * @param query     Text typed by the user.
+     * @param threshold Minimum similarity, between 0 and 1, for a value to match.
+     * @return Best score per matching code; 1 for an exact match, at least 0.8 for a prefix match.
+     */
+    Map<Integer, Float> search(String query, float threshold) {
+        String normalized = normalize(query);
+        Map<Integer, Float> scores = new HashMap<>();
+        if (normalized.isEmpty()) {
+            return scores;
+        }
+
+        Set<String> queryTrigrams = trigrams(normalized);
+        Map<Term, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (Term term : postings.getOrDefault(trigram, List.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+
+        shared.forEach((term, common) -> {
+            float score = (float) common / (queryTrigrams.size() + term.trigramCount - common);
+            if (isPrefix(term.value, normalized)) {
+                // Prefer prefixes covering more of the value, so "toyo" ranks Toyota above Toyota Motor
+                score = Math.max(score, 0.8f + 0.2f * normalized.length() / term.value.length());
+            }
+            if (score >= threshold) {
+                float termScore = score;
+                term.codes.forEach(code -> scores.merge(code, termScore, Math::max));
+            }
+        });
+        return scores;
+    }
+
+    static String normalize(String value) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static boolean isPrefix(String value, String query) {
+        if (value.startsWith(query)) {
+            return true;
+        }
+        // Also match the start of a later word, e.g. "benz" in "mercedes benz"
+        int space = value.indexOf(' ');
+        while (space >= 0) {
+            if (value.startsWith(query, space + 1)) {
+                return true;
+            }
+            space = value.indexOf(' ', space + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Trigrams of each word padded with two leading blanks and one trailing blank, as pg_trgm builds them.
+     */
+    private static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static final class Term {
+
+        private final String value;
+
+        private final int trigramCount;
+
+        private final Set<Integer> codes = new HashSet<>();
+
+        private Term(String value, int trigramCount) {
+            this.value = value;
+            this.trigramCount = trigramCount;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.car.carshowroombackend.services.showroom;
+
+import com.car.carshowroombackend.configs.CacheConfiguration;
+import com.car.carshowroombackend.events.CarShowroomCreatedEvent;
+import com.car.carshowroombackend.events.CarShowroomDeletedEvent;
+import com.car.carshowroombackend.events.CarShowroomUpdatedEvent;
+import com.car.carshowroombackend.repository.CarShowroomRepository;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
+import com.car.carshowroombackend.services.cache.InvalidationHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the showroom dropdown pre-serialized in memory.
+ * Every showroom create, update or delete, local or announced by another node, bumps the generation;
+ * the next read rebuilds the snapshot with one id/name query, so a burst of writes costs a single rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+public class CarShowroomDropdown {
+
+    private final CarShowroomRepository showroomRepository;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong generation = new AtomicLong(1);
+
+    private volatile DropdownSnapshot snapshot;
+
+    // Readers racing on a stale snapshot wait here; not synchronized, the rebuild blocks on JDBC
+    private final Lock rebuildLock = new ReentrantLock();
+
+    /**
+     * Subscribes to the showroom changes made on the other nodes.
+     */
+    @PostConstruct
+    public void subscribe() {
+        cacheInvalidationService.register(CacheConfiguration.SHOWROOM_DROPDOWN, new InvalidationHandler() {
+            @Override
+            public void invalidate(Object key) {
+                generation.incrementAndGet();
+            }
+
+            @Override
+            public void invalidateAll() {
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Returns the current snapshot, rebuilding it first if a showroom changed since it was taken.
+     *
+     * @return Serialized dropdown with its version and ETag.
+     */
+    public DropdownSnapshot get() {
+        DropdownSnapshot current = snapshot;
+        if (current != null && current.version() == generation.get()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomCreated(CarShowroomCreatedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomUpdated(CarShowroomUpdatedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomDeleted(CarShowroomDeletedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private DropdownSnapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            // Another reader may have rebuilt it while this one waited for the lock
+            long version = generation.get();
+            DropdownSnapshot current = snapshot;
+            if (current != null && current.version() == version) {
+                return current;
+            }
+
+            // Read the generation before the query: a change committed meanwhile leaves the snapshot stale, not lost
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(showroomRepository.findDropdown());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            DropdownSnapshot rebuilt = new DropdownSnapshot(version, body, eTag(body));
+            snapshot = rebuilt;
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private static String eTag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
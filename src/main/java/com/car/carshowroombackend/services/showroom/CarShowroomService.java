@@ -1,7 +1,6 @@
 package com.car.carshowroombackend.services.showroom;
 
 import com.car.carshowroombackend.dto.CarShowroomDTO;
-import com.car.carshowroombackend.dto.DropdownDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,11 +10,13 @@ public interface CarShowroomService {
 
     CarShowroomDTO createCarShowroom(CarShowroomDTO dto);
 
+    List<CarShowroomDTO> createCarShowrooms(List<CarShowroomDTO> dtos);
+
     CarShowroomDTO updateCarShowroom(CarShowroomDTO dto, Long id);
 
     Page<CarShowroomDTO> listCarShowrooms(Pageable pageable);
 
-    List<DropdownDTO> getCarShowroomsDropdown();
+    DropdownSnapshot getCarShowroomsDropdown();
 
     CarShowroomDTO getCarShowroom(Long id);
 
@@ -1,21 +1,33 @@
 package com.car.carshowroombackend.services.showroom;
 
+import com.car.carshowroombackend.configs.CacheConfiguration;
 import com.car.carshowroombackend.dto.CarShowroomDTO;
-import com.car.carshowroombackend.dto.DropdownDTO;
 import com.car.carshowroombackend.entity.CarShowroom;
 import com.car.carshowroombackend.entity.User;
+import com.car.carshowroombackend.events.CarShowroomCreatedEvent;
+import com.car.carshowroombackend.events.CarShowroomDeletedEvent;
+import com.car.carshowroombackend.events.CarShowroomUpdatedEvent;
+import com.car.carshowroombackend.repository.CarRepository;
 import com.car.carshowroombackend.repository.CarShowroomRepository;
+import com.car.carshowroombackend.repository.CarShowroomRepositoryCustom.SoftDeletedShowroom;
 import com.car.carshowroombackend.repository.UserRepository;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -25,10 +37,21 @@ import java.util.stream.Collectors;
 @Service
 public class CarShowroomServiceImpl implements CarShowroomService {
 
+    // Largest cascade whose cars are announced one by one; past it the other nodes reload all cars instead
+    private static final int MAX_PUBLISHED_CAR_IDS = 100;
+
     private final CarShowroomRepository showroomRepository;
 
     private final UserRepository userRepository;
 
+    private final CarRepository carRepository;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CarShowroomDropdown carShowroomDropdown;
+
     /**
      * Creates a new CarShowroom based on the provided DTO.
      *
@@ -50,7 +73,54 @@ public class CarShowroomServiceImpl implements CarShowroomService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         showroom.setUser(user);
 
-        return showroomRepository.save(showroom).getDto();
+        CarShowroomDTO created = showroomRepository.save(showroom).getDto();
+        eventPublisher.publishEvent(new CarShowroomCreatedEvent(created));
+
+        // Let the other nodes know their dropdown is out of date
+        cacheInvalidationService.publish(CacheConfiguration.SHOWROOM_DROPDOWN, created.getId());
+        return created;
+    }
+
+    /**
+     * Creates several CarShowrooms at once. The owning users are loaded with one IN query, and the inserts
+     * are sent as JDBC batches using ids from the pooled sequence.
+     *
+     * @param dtos CarShowroomDTOs containing the details of the showrooms to create.
+     * @return CarShowroomDTOs of the created showrooms, in the order given.
+     * @throws IllegalArgumentException if a referenced user does not exist.
+     */
+    @Transactional
+    public List<CarShowroomDTO> createCarShowrooms(List<CarShowroomDTO> dtos) {
+        Map<Long, User> users = userRepository.findAllById(
+                        dtos.stream().map(CarShowroomDTO::getUserId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<CarShowroom> showrooms = new ArrayList<>(dtos.size());
+        for (CarShowroomDTO dto : dtos) {
+            CarShowroom showroom = new CarShowroom();
+            showroom.setName(dto.getName());
+            showroom.setCommercialRegistrationNumber(dto.getCommercialRegistrationNumber());
+            showroom.setManagerName(dto.getManagerName());
+            showroom.setContactNumber(dto.getContactNumber());
+            showroom.setAddress(dto.getAddress());
+            showroom.setDeleted(false);
+
+            User user = users.get(dto.getUserId());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found: " + dto.getUserId());
+            }
+            showroom.setUser(user);
+            showrooms.add(showroom);
+        }
+
+        List<CarShowroomDTO> created = showroomRepository.saveAll(showrooms).stream().map(CarShowroom::getDto).toList();
+        created.forEach(showroom -> eventPublisher.publishEvent(new CarShowroomCreatedEvent(showroom)));
+
+        // One notification is enough, the other nodes rebuild their dropdown once
+        if (!created.isEmpty()) {
+            cacheInvalidationService.publish(CacheConfiguration.SHOWROOM_DROPDOWN, created.get(0).getId());
+        }
+        return created;
     }
 
     /**
@@ -65,18 +135,12 @@ public class CarShowroomServiceImpl implements CarShowroomService {
     }
 
     /**
-     * Retrieves a list of CarShowrooms for dropdown selection.
+     * Retrieves the CarShowrooms for dropdown selection, serialized ahead of time.
      *
-     * @return List of DropdownDTO representing non-deleted car showrooms.
+     * @return DropdownSnapshot holding the id and name of the non-deleted car showrooms as JSON, with its ETag.
      */
-    public List<DropdownDTO> getCarShowroomsDropdown() {
-        List<CarShowroom> carShowrooms = showroomRepository.findAllByIsDeletedFalse();
-        return carShowrooms.stream().map(carShowroom -> {
-            DropdownDTO dropdownDTO = new DropdownDTO();
-            dropdownDTO.setId(carShowroom.getId());
-            dropdownDTO.setName(carShowroom.getName());
-            return dropdownDTO;
-        }).collect(Collectors.toList());
+    public DropdownSnapshot getCarShowroomsDropdown() {
+        return carShowroomDropdown.get();
     }
 
     /**
@@ -86,7 +150,7 @@ public class CarShowroomServiceImpl implements CarShowroomService {
      * @return CarShowroomDTO of the requested showroom.
      * @throws EntityNotFoundException if the showroom is not found.
      */
-    @Cacheable(value = "carShowrooms", key = "#id")
+    @Cacheable(value = CacheConfiguration.CAR_SHOWROOMS, key = "#id")
     public CarShowroomDTO getCarShowroom(Long id) {
         Optional<CarShowroom> optionalCarShowroom = showroomRepository.findById(id);
         if (optionalCarShowroom.isPresent()) {
@@ -97,25 +161,40 @@ public class CarShowroomServiceImpl implements CarShowroomService {
     }
 
     /**
-     * Marks a CarShowroom as deleted by setting the 'deleted' flag.
+     * Locks a CarShowroom, then marks it and all of its active cars as deleted in one statement, and evicts it from
+     * the cache.
+     * The returned showroom comes from that statement, so the entity is not loaded.
      *
      * @param id ID of the CarShowroom to delete.
      * @return CarShowroomDTO of the deleted showroom.
      * @throws EntityNotFoundException if the showroom is not found.
      */
+    @Transactional
+    @CacheEvict(value = CacheConfiguration.CAR_SHOWROOMS, key = "#id")
     public CarShowroomDTO deleteCarShowroom(Long id) {
-        Optional<CarShowroom> optionalCarShowroom = showroomRepository.findById(id);
-        if (optionalCarShowroom.isPresent()) {
-            CarShowroom showroom = optionalCarShowroom.get();
-            showroom.setDeleted(true);
-            return showroomRepository.save(showroom).getDto();
-        } else {
-            throw new EntityNotFoundException("Showroom not present.");
+        SoftDeletedShowroom deletion = showroomRepository.softDeleteCascade(id)
+                .orElseThrow(() -> new EntityNotFoundException("Showroom not present."));
+        CarShowroomDTO deleted = deletion.showroom();
+
+        // Only an active showroom becoming deleted changes the inventory
+        if (deletion.wasActive()) {
+            eventPublisher.publishEvent(new CarShowroomDeletedEvent(deleted, deletion.cascadedCarIds()));
+            if (deletion.cascadedCarIds().size() > MAX_PUBLISHED_CAR_IDS) {
+                cacheInvalidationService.publishAll(CacheConfiguration.CARS);
+            } else {
+                deletion.cascadedCarIds()
+                        .forEach(carId -> cacheInvalidationService.publish(CacheConfiguration.CARS, carId));
+            }
         }
+
+        // Drop the cached copy and the dropdown on the other nodes as well
+        cacheInvalidationService.publish(CacheConfiguration.CAR_SHOWROOMS, id);
+        cacheInvalidationService.publish(CacheConfiguration.SHOWROOM_DROPDOWN, id);
+        return deleted;
     }
 
     /**
-     * Updates an existing CarShowroom with new details from the provided DTO.
+     * Updates an existing CarShowroom with new details from the provided DTO and refreshes the cached copy.
      *
      * @param dto CarShowroomDTO containing updated details of the showroom.
      * @param id  ID of the CarShowroom to update.
@@ -123,17 +202,33 @@ public class CarShowroomServiceImpl implements CarShowroomService {
      * @throws EntityNotFoundException if the showroom is not found.
      */
     @Transactional
+    @CachePut(value = CacheConfiguration.CAR_SHOWROOMS, key = "#id")
     public CarShowroomDTO updateCarShowroom(CarShowroomDTO dto, Long id) {
-        Optional<CarShowroom> optionalCarShowroom = showroomRepository.findById(id);
+        // Locked first: the copy of the name is updated before the showroom row itself is flushed
+        Optional<CarShowroom> optionalCarShowroom = showroomRepository.findByIdForUpdate(id);
         if (optionalCarShowroom.isPresent()) {
             CarShowroom showroom = optionalCarShowroom.get();
+            boolean renamed = !showroom.getName().equals(dto.getName());
             showroom.setName(dto.getName());
             showroom.setCommercialRegistrationNumber(dto.getCommercialRegistrationNumber());
             showroom.setManagerName(dto.getManagerName());
             showroom.setContactNumber(dto.getContactNumber());
             showroom.setAddress(dto.getAddress());
+            CarShowroomDTO updated = showroomRepository.save(showroom).getDto();
+
+            // Keep the copy of the name on the showroom's cars in step
+            if (renamed) {
+                carRepository.updateCarShowroomName(id, dto.getName());
+            }
+            eventPublisher.publishEvent(new CarShowroomUpdatedEvent(updated));
 
-            return showroomRepository.save(showroom).getDto();
+            // Drop the stale copy on the other nodes, it is reloaded on their next read
+            cacheInvalidationService.publish(CacheConfiguration.CAR_SHOWROOMS, id);
+            if (renamed) {
+                cacheInvalidationService.publish(CacheConfiguration.SHOWROOM_DROPDOWN, id);
+                cacheInvalidationService.publish(CacheConfiguration.SHOWROOM_NAMES, id);
+            }
+            return updated;
         } else {
             throw new EntityNotFoundException("Showroom not present.");
         }
@@ -0,0 +1,11 @@
+package com.car.carshowroombackend.services.showroom;
+
+/**
+ * Serialized showroom dropdown, ready to be written to the response as is.
+ *
+ * @param version Local generation of the snapshot, increased by every showroom change.
+ * @param body    JSON array of the id and name of each active showroom.
+ * @param eTag    Strong entity tag derived from the body, equal on every node serving the same list.
+ */
+public record DropdownSnapshot(long version, byte[] body, String eTag) {
+}
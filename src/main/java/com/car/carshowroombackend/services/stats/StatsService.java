@@ -0,0 +1,10 @@
+package com.car.carshowroombackend.services.stats;
+
+import com.car.carshowroombackend.dto.StatsDTO;
+
+public interface StatsService {
+
+    StatsDTO getStats();
+
+    void reconcile();
+}
@@ -0,0 +1,150 @@
+package com.car.carshowroombackend.services.stats;
+
+import com.car.carshowroombackend.dto.StatsDTO;
+import com.car.carshowroombackend.events.CarCreatedEvent;
+import com.car.carshowroombackend.events.CarDeletedEvent;
+import com.car.carshowroombackend.events.CarShowroomCreatedEvent;
+import com.car.carshowroombackend.events.CarShowroomDeletedEvent;
+import com.car.carshowroombackend.events.CarsImportedEvent;
+import com.car.carshowroombackend.events.UserCreatedEvent;
+import com.car.carshowroombackend.events.UserStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service implementation keeping the admin statistics live in memory.
+ * Striped counters are adjusted by the create, soft delete and enable/disable events once their
+ * transaction commits. A periodic reconciliation corrects any drift, including the writes made by
+ * other nodes, with a single aggregate query which also serves as the cold start.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatsServiceImpl implements StatsService {
+
+    private static final String AGGREGATE_QUERY = """
+            SELECT u.total, u.active, s.total, s.active, c.total, c.active
+            FROM (SELECT count(*) AS total, count(*) FILTER (WHERE enabled) AS active FROM users) u,
+                 (SELECT count(*) AS total, count(*) FILTER (WHERE NOT is_deleted) AS active FROM car_showroom) s,
+                 (SELECT count(*) AS total, count(*) FILTER (WHERE NOT is_deleted) AS active FROM car) c
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LongAdder totalUsers = new LongAdder();
+    private final LongAdder activeUsers = new LongAdder();
+
+    private final LongAdder totalShowrooms = new LongAdder();
+    private final LongAdder activeShowrooms = new LongAdder();
+
+    private final LongAdder totalCars = new LongAdder();
+    private final LongAdder activeCars = new LongAdder();
+
+    // In the column order of the aggregate query
+    private final LongAdder[] counters = {
+            totalUsers, activeUsers, totalShowrooms, activeShowrooms, totalCars, activeCars};
+
+    private volatile boolean initialized;
+
+    // A lock rather than synchronized: a virtual thread blocked on JDBC inside a monitor would pin its carrier
+    private final Lock reconcileLock = new ReentrantLock();
+
+    /**
+     * Returns the current statistics from the in-memory counters, loading them from the database on first use.
+     *
+     * @return StatsDTO containing the counts of total and active users, cars, and showrooms.
+     */
+    @Override
+    public StatsDTO getStats() {
+        if (!initialized) {
+            reconcile();
+        }
+
+        StatsDTO statsDTO = new StatsDTO();
+        statsDTO.setTotalUsers(totalUsers.sum());
+        statsDTO.setActiveUsers(activeUsers.sum());
+        statsDTO.setTotalShowrooms(totalShowrooms.sum());
+        statsDTO.setActiveShowrooms(activeShowrooms.sum());
+        statsDTO.setTotalCars(totalCars.sum());
+        statsDTO.setActiveCars(activeCars.sum());
+        return statsDTO;
+    }
+
+    /**
+     * Aligns the counters with the database using one aggregate query.
+     * Each counter is shifted by the difference between the database value and the counter as read before the
+     * query, so events applied while the query runs stay on top of it. An event whose write the query already sees
+     * but whose listener runs after that read is counted twice, until the next reconciliation.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:300000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            long[] before = new long[counters.length];
+            for (int i = 0; i < counters.length; i++) {
+                before[i] = counters[i].sum();
+            }
+            jdbcTemplate.query(AGGREGATE_QUERY, rs -> {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i].add(rs.getLong(i + 1) - before[i]);
+                }
+            });
+            initialized = true;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        totalUsers.increment();
+        if (Boolean.TRUE.equals(event.user().getEnabled())) {
+            activeUsers.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        boolean enabled = Boolean.TRUE.equals(event.user().getEnabled());
+        if (enabled != event.previouslyEnabled()) {
+            activeUsers.add(enabled ? 1 : -1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomCreated(CarShowroomCreatedEvent event) {
+        totalShowrooms.increment();
+        activeShowrooms.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarShowroomDeleted(CarShowroomDeletedEvent event) {
+        activeShowrooms.decrement();
+        activeCars.add(-event.carIds().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarCreated(CarCreatedEvent event) {
+        totalCars.increment();
+        activeCars.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarDeleted(CarDeletedEvent event) {
+        activeCars.decrement();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarsImported(CarsImportedEvent event) {
+        long imported = event.total();
+        totalCars.add(imported);
+        activeCars.add(imported);
+    }
+}
@@ -1,6 +1,12 @@
 package com.car.carshowroombackend.utill;
 
+import com.car.carshowroombackend.entity.User;
+import com.car.carshowroombackend.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -11,15 +17,54 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for handling JSON Web Token (JWT) operations, such as generating,
  * validating, and extracting information from tokens.
+ * The signing key and the parser are built once, and each token is parsed and verified
+ * a single time into {@link VerifiedClaims}, which are kept in a small cache until the token expires.
  */
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String ROLE_CLAIM = "role";
+
+    public static final String EPOCH_CLAIM = "epoch";
+
+    private static final int VERIFIED_TOKENS_CACHE_SIZE = 10_000;
+
+    private final Key signingKey = Keys.hmacShaKeyFor(
+            Decoders.BASE64.decode("413F4428472B4B6250655368566D5970337336763979244226452948404D6351"));
+
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
+    // Recently verified tokens; an entry never outlives the token it was parsed from
+    private final Cache<String, VerifiedClaims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKENS_CACHE_SIZE)
+            .expireAfter(new Expiry<String, VerifiedClaims>() {
+                @Override
+                public long expireAfterCreate(String token, VerifiedClaims claims, long currentTime) {
+                    long remainingMillis = claims.expiration().getTime() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, VerifiedClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String token, VerifiedClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
     /**
      * Generates a JWT with specified claims, a subject (username), and an expiration time.
      *
@@ -33,18 +78,36 @@ public class JwtUtil {
                 .setSubject(details.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // Token valid for 24 hours
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Overloaded method to generate a JWT without additional claims.
+     * Overloaded method to generate a JWT for a user. When the details are a {@link User}, its id,
+     * role and security epoch are embedded so requests can be authorized from the token alone.
      *
      * @param userDetails UserDetails object containing the user's information.
      * @return A signed JWT string.
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getUserRole().name());
+            claims.put(EPOCH_CLAIM, user.getSecurityEpoch());
+        }
+        return generateToken(claims, userDetails);
+    }
+
+    /**
+     * Parses and verifies a JWT, or returns the claims of a recent verification of the same token.
+     *
+     * @param token The JWT string.
+     * @return VerifiedClaims of the token.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or its signature is invalid.
+     */
+    public VerifiedClaims verify(String token) {
+        return verifiedTokens.get(token, this::parse);
     }
 
     /**
@@ -56,22 +119,7 @@ public class JwtUtil {
      * @return true if the token is valid, false otherwise.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Extracts all claims from the JWT.
-     *
-     * @param token The JWT string.
-     * @return Claims object containing all the claims in the token.
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token).isValidFor(userDetails);
     }
 
     /**
@@ -81,49 +129,20 @@ public class JwtUtil {
      * @return The username as a string.
      */
     public String extractUserName(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /**
-     * Extracts the expiration date from the token.
+     * Parses the token once, verifying its signature and expiration.
      *
      * @param token The JWT string.
-     * @return The expiration date of the token.
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Checks if the token is expired by comparing the expiration date with the current date.
-     *
-     * @param token The JWT string.
-     * @return true if the token is expired, false otherwise.
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extracts a specific claim from the token using a provided function.
-     *
-     * @param token          The JWT string.
-     * @param claimsResolver Function to resolve and retrieve a specific claim.
-     * @param <T>            The type of the claim.
-     * @return The claim value.
-     */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    /**
-     * Retrieves the signing key used to sign the JWT, decoded from a base64-encoded string.
-     *
-     * @return The signing key.
+     * @return VerifiedClaims holding the claims used by the application.
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode("413F4428472B4B6250655368566D5970337336763979244226452948404D6351");
-        return Keys.hmacShaKeyFor(keyBytes);
+    private VerifiedClaims parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        String role = claims.get(ROLE_CLAIM, String.class);
+        return new VerifiedClaims(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(),
+                claims.get(USER_ID_CLAIM, Long.class), role != null ? UserRole.valueOf(role) : null,
+                claims.get(EPOCH_CLAIM, Integer.class));
     }
 }
@@ -0,0 +1,48 @@
+package com.car.carshowroombackend.utill;
+
+import com.car.carshowroombackend.enums.UserRole;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+
+/**
+ * Immutable view of the claims of a JWT whose signature has already been verified.
+ *
+ * @param subject    Username (email) the token was issued to.
+ * @param issuedAt   Time the token was issued.
+ * @param expiration Time the token expires.
+ * @param userId     Id of the user, absent from tokens issued before roles were embedded.
+ * @param role       Role of the user, absent from tokens issued before roles were embedded.
+ * @param epoch      Security epoch of the user when the token was issued.
+ */
+public record VerifiedClaims(String subject, Date issuedAt, Date expiration, Long userId, UserRole role,
+                             Integer epoch) {
+
+    /**
+     * Checks whether the token carries everything needed to authorize a request without loading the user.
+     *
+     * @return true if the user id, role and epoch claims are present.
+     */
+    public boolean isStateless() {
+        return userId != null && role != null && epoch != null;
+    }
+
+    /**
+     * Checks if the token is expired by comparing the expiration date with the current date.
+     *
+     * @return true if the token is expired, false otherwise.
+     */
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+
+    /**
+     * Checks that the token was issued to the given user and is not expired.
+     *
+     * @param userDetails UserDetails object containing the user's information.
+     * @return true if the token is valid for the user, false otherwise.
+     */
+    public boolean isValidFor(UserDetails userDetails) {
+        return subject.equals(userDetails.getUsername()) && !isExpired();
+    }
+}
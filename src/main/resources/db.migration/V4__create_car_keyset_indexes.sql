@@ -0,0 +1,5 @@
+-- Indexes backing the keyset (seek) ordering of active cars: (sort key, id)
+CREATE INDEX idx_car_active_id ON car (id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_car_active_price_id ON car (price, id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_car_active_model_year_id ON car (model_year, id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_car_active_maker_id ON car (maker, id) WHERE is_deleted = FALSE;
@@ -0,0 +1,3 @@
+-- Incremented whenever a user's status changes; tokens carrying an older epoch are rejected
+ALTER TABLE users
+    ADD COLUMN security_epoch INTEGER NOT NULL DEFAULT 0;
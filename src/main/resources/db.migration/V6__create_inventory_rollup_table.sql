@@ -0,0 +1,19 @@
+-- Hourly ('H') and daily ('D') inventory buckets per showroom; user status changes go to showroom 0
+CREATE TABLE inventory_rollup
+(
+    granularity     CHAR(1)     NOT NULL CHECK (granularity IN ('H', 'D')),
+    bucket_start    TIMESTAMPTZ NOT NULL,
+    car_showroom_id BIGINT      NOT NULL,
+    cars_added      INTEGER     NOT NULL DEFAULT 0,
+    cars_deleted    INTEGER     NOT NULL DEFAULT 0,
+    active_cars     INTEGER     NOT NULL DEFAULT 0,
+    listed_value    NUMERIC     NOT NULL DEFAULT 0,
+    users_enabled   INTEGER     NOT NULL DEFAULT 0,
+    users_disabled  INTEGER     NOT NULL DEFAULT 0,
+    PRIMARY KEY (granularity, car_showroom_id, bucket_start)
+);
+
+CREATE INDEX idx_inventory_rollup_bucket ON inventory_rollup (granularity, bucket_start);
+
+-- Active cars per showroom, used to compute the bucket levels
+CREATE INDEX idx_car_active_car_showroom_id ON car (car_showroom_id) WHERE is_deleted = FALSE;
@@ -0,0 +1,9 @@
+-- Ids are allocated by Hibernate's pooled optimizer in blocks of 50, so the sequences step by the same amount.
+-- The id columns move to BIGINT to leave room for the gaps left by rows inserted through the column default.
+ALTER TABLE car
+    ALTER COLUMN id TYPE BIGINT;
+ALTER SEQUENCE car_id_seq AS BIGINT INCREMENT BY 50;
+
+ALTER TABLE car_showroom
+    ALTER COLUMN id TYPE BIGINT;
+ALTER SEQUENCE car_showroom_id_seq AS BIGINT INCREMENT BY 50;
@@ -0,0 +1,5 @@
+-- Deleting a showroom now soft deletes its cars too; apply the same to the showrooms deleted before
+UPDATE car
+SET is_deleted = TRUE
+WHERE NOT is_deleted
+  AND car_showroom_id IN (SELECT id FROM car_showroom WHERE is_deleted);
@@ -0,0 +1,19 @@
+-- Copy of the showroom name on each car, so the listing can filter and project it without joining car_showroom.
+-- Kept in sync by the showroom update. The showroom's deleted flag is not copied: deleting a showroom
+-- soft deletes its cars (V8), so car.is_deleted already covers it.
+ALTER TABLE car
+    ADD COLUMN car_showroom_name VARCHAR(100);
+
+UPDATE car c
+SET car_showroom_name = s.name
+FROM car_showroom s
+WHERE s.id = c.car_showroom_id;
+
+ALTER TABLE car
+    ALTER COLUMN car_showroom_name SET NOT NULL;
+
+-- Partial indexes for the listing filters on active cars, ending in id to serve the default id order.
+-- The single column filters on maker and model year are covered by the keyset indexes of V4.
+CREATE INDEX idx_car_active_vin ON car (vin) WHERE is_deleted = FALSE;
+CREATE INDEX idx_car_active_showroom_name_id ON car (car_showroom_name, id) WHERE is_deleted = FALSE;
+CREATE INDEX idx_car_active_maker_model_year_id ON car (maker, model_year, id) WHERE is_deleted = FALSE;
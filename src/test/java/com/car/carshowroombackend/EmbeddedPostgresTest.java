@@ -0,0 +1,91 @@
+package com.car.carshowroombackend;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+/**
+ * Base of the integration tests: boots the application against an embedded PostgreSQL migrated by Flyway.
+ * The database is started once per test JVM and the Spring context is shared by every subclass, so each test
+ * clears the rows it depends on with {@link #clearInventory()} and inserts them with the helpers below.
+ * The scheduled jobs are pushed out of the way so they never run in the middle of a test.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.rollup.flush-interval=3600000",
+        "app.stats.reconcile-interval=3600000",
+        "app.search.rebuild-interval=3600000",
+        "app.security.revocation.sync-interval=3600000"
+})
+public abstract class EmbeddedPostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The process is going away anyway
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes every car, showroom, rollup bucket and user except the admin account created at startup.
+     */
+    protected void clearInventory() {
+        jdbcTemplate.execute("TRUNCATE car, car_showroom, inventory_rollup");
+        jdbcTemplate.update("DELETE FROM users WHERE user_role <> 'ADMIN'");
+    }
+
+    protected long insertUser(String email) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password, name, user_role, enabled)
+                VALUES (?, 'not-a-hash', ?, 'USER', TRUE)
+                RETURNING id
+                """, Long.class, email, "User " + email);
+    }
+
+    protected long insertShowroom(String name, String registrationNumber, long userId) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO car_showroom (name, commercial_registration_number, manager_name, contact_number,
+                                          address, user_id)
+                VALUES (?, ?, 'Manager', '0500000000', 'Street', ?)
+                RETURNING id
+                """, Long.class, name, registrationNumber, userId);
+    }
+
+    protected long insertCar(String vin, String maker, int modelYear, BigDecimal price, long showroomId) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO car (vin, maker, model, model_year, price, car_showroom_id, car_showroom_name, user_id)
+                SELECT ?, ?, 'Model', ?, ?, s.id, s.name, s.user_id
+                FROM car_showroom s
+                WHERE s.id = ?
+                RETURNING id
+                """, Long.class, vin, maker, modelYear, price, showroomId);
+    }
+}
@@ -0,0 +1,92 @@
+package com.car.carshowroombackend.configs;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.enums.UserRole;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streaming car export is timed from its first dispatch to the end of the async redispatch, and the SQL of
+ * its body, which runs on the async executor, is counted with the request. The meters are scraped as Prometheus
+ * text, which needs the metrics export the test context otherwise leaves out.
+ */
+@AutoConfigureObservability(tracing = false)
+class ControllerMetricsInterceptorTest extends EmbeddedPostgresTest {
+
+    // Time the test waits between the export starting and its redispatch
+    private static final long PAUSE_MILLIS = 200;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        long userId = insertUser("export@test.com");
+        long showroomId = insertShowroom("Export Motors", "0000000042", userId);
+        insertCar("VIN1", "Toyota", 2020, BigDecimal.valueOf(10_000), showroomId);
+        insertCar("VIN2", "Ford", 2021, BigDecimal.valueOf(20_000), showroomId);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void exportIsTimedAndCountedAcrossItsAsyncDispatch() throws Exception {
+        long exportsBefore = timer().count();
+        double statementsBefore = statements().totalAmount();
+
+        MvcResult started = mockMvc.perform(get("/api/user/car/export")
+                        .with(user("export@test.com").authorities(new SimpleGrantedAuthority(UserRole.USER.name()))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult();
+        Thread.sleep(PAUSE_MILLIS);
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertThat(timer().count()).isEqualTo(exportsBefore + 1);
+        assertThat(timer().max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(PAUSE_MILLIS);
+        assertThat(statements().totalAmount() - statementsBefore).isGreaterThanOrEqualTo(1);
+        assertThat(prometheusMeterRegistry.scrape())
+                .contains("app_controller_seconds_count{controller=\"CarController\",method=\"exportCars\"")
+                .contains("app_controller_sql_statements_count{controller=\"CarController\",method=\"exportCars\"");
+    }
+
+    private Timer timer() {
+        return meterRegistry.timer("app.controller", "controller", "CarController", "method", "exportCars",
+                "outcome", "SUCCESS");
+    }
+
+    private DistributionSummary statements() {
+        return meterRegistry.summary("app.controller.sql.statements", "controller", "CarController",
+                "method", "exportCars");
+    }
+}
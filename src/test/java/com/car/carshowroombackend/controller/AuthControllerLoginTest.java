@@ -0,0 +1,51 @@
+package com.car.carshowroombackend.controller;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.configs.RequestSqlCounters;
+import com.car.carshowroombackend.dto.AuthenticationRequest;
+import com.car.carshowroombackend.dto.AuthenticationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A successful login loads its user once, in the authentication manager, and issues the token from the
+ * authenticated principal.
+ */
+class AuthControllerLoginTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private AuthController authController;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        userId = insertUser("login@test.com");
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", passwordEncoder.encode("secret"), userId);
+    }
+
+    @Test
+    void loginRunsOneStatement() {
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setEmail("login@test.com");
+        request.setPassword("secret");
+        RequestSqlCounters counters = RequestSqlCounters.current();
+        counters.reset();
+
+        ResponseEntity<?> response = authController.createAuthenticationToken(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((AuthenticationResponse) response.getBody()).getUserId()).isEqualTo(userId);
+        assertThat(counters.statements()).isEqualTo(1);
+    }
+}
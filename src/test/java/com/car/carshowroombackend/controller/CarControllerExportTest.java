@@ -0,0 +1,64 @@
+package com.car.carshowroombackend.controller;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streaming export runs asynchronously under its own bounded timeout, rather than the unlimited one it used to
+ * need globally, and still streams every matching car.
+ */
+class CarControllerExportTest extends EmbeddedPostgresTest {
+
+    private static final long EXPORT_TIMEOUT_MILLIS = 1_800_000;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        long userId = insertUser("export@test.com");
+        long showroomId = insertShowroom("Export Motors", "0000000043", userId);
+        insertCar("VIN1", "Toyota", 2020, BigDecimal.valueOf(10_000), showroomId);
+        insertCar("VIN2", "Ford", 2021, BigDecimal.valueOf(20_000), showroomId);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void exportStreamsWithinItsOwnTimeout() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/user/car/export").param("format", "CSV")
+                        .with(user("export@test.com").authorities(new SimpleGrantedAuthority(UserRole.USER.name()))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(EXPORT_TIMEOUT_MILLIS);
+        started.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"cars.csv\""));
+        assertThat(started.getResponse().getContentAsString().lines()).hasSize(3);
+    }
+}
@@ -0,0 +1,78 @@
+package com.car.carshowroombackend.services.auth;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.dto.UserDTO;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Changing a user's status bumps their security epoch atomically, so concurrent changes each revoke the tokens
+ * issued before them instead of reusing an epoch.
+ */
+class AuthServiceImplTest extends EmbeddedPostgresTest {
+
+    private static final int THREADS = 8;
+
+    private static final int CHANGES_PER_THREAD = 10;
+
+    @Autowired
+    private AuthService authService;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        userId = insertUser("status@test.com");
+    }
+
+    @Test
+    void statusChangeReturnsTheUserAndBumpsTheEpoch() {
+        UserDTO disabled = authService.updateUserStatus(userId, false);
+
+        assertThat(disabled.getEmail()).isEqualTo("status@test.com");
+        assertThat(disabled.getName()).isEqualTo("User status@test.com");
+        assertThat(disabled.getEnabled()).isFalse();
+        assertThat(epoch()).isEqualTo(1);
+        assertThatThrownBy(() -> authService.updateUserStatus(userId + 1000, true))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void concurrentChangesNeverReuseAnEpoch() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> changes = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                boolean status = i % 2 == 0;
+                changes.add(executor.submit(() -> {
+                    for (int j = 0; j < CHANGES_PER_THREAD; j++) {
+                        authService.updateUserStatus(userId, status);
+                    }
+                }));
+            }
+            for (Future<?> change : changes) {
+                change.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(epoch()).isEqualTo(THREADS * CHANGES_PER_THREAD);
+    }
+
+    private int epoch() {
+        return jdbcTemplate.queryForObject("SELECT security_epoch FROM users WHERE id = ?", Integer.class, userId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.car.carshowroombackend.services.cache;
+
+import com.car.carshowroombackend.configs.CacheInvalidationProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Splitting of the queued invalidations into NOTIFY payloads, which PostgreSQL limits to 8000 bytes,
+ * and clearing a whole cache on the other nodes.
+ */
+class CacheInvalidationServiceImplTest {
+
+    private static final int NOTIFY_PAYLOAD_LIMIT = 8000;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CacheInvalidationServiceImpl service = new CacheInvalidationServiceImpl(jdbcTemplate,
+            mock(CacheManager.class), new CacheInvalidationProperties(), objectMapper);
+
+    @Test
+    void nonAsciiKeysStayWithinTheByteLimit() throws Exception {
+        // Three bytes per character in UTF-8, so a split counting characters would overflow the payload
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            String key = "利用者" + i + "電子メール住所例示@例え.テスト";
+            keys.add(key);
+            service.publish("users", key);
+        }
+
+        service.flush();
+
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("cache_invalidation"), payloads.capture());
+        Set<String> published = new HashSet<>();
+        for (String payload : payloads.getAllValues()) {
+            assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(NOTIFY_PAYLOAD_LIMIT);
+            for (JsonNode key : objectMapper.readTree(payload).get("keys").get("users")) {
+                published.add(key.asText());
+            }
+        }
+        assertThat(published).isEqualTo(keys);
+    }
+
+    @Test
+    void publishAllClearsTheCacheOnTheOtherNodes() throws Exception {
+        service.publish("cars", 1L);
+        service.publishAll("cars");
+        service.publish("users", "user@test.com");
+
+        service.flush();
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq("cache_invalidation"), payload.capture());
+        JsonNode message = objectMapper.readTree(payload.getValue());
+        assertThat(message.get("all")).extracting(JsonNode::asText).containsExactly("cars");
+        // The cleared cache's keys are not listed
+        assertThat(message.get("keys").has("cars")).isFalse();
+        assertThat(message.get("keys").has("users")).isTrue();
+
+        CacheInvalidationServiceImpl otherNode = new CacheInvalidationServiceImpl(mock(JdbcTemplate.class),
+                mock(CacheManager.class), new CacheInvalidationProperties(), objectMapper);
+        InvalidationHandler handler = mock(InvalidationHandler.class);
+        otherNode.register("cars", handler);
+        otherNode.apply(payload.getValue());
+
+        verify(handler).invalidateAll();
+        verify(handler, never()).invalidate(any());
+    }
+}
@@ -0,0 +1,106 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+import com.car.carshowroombackend.services.showroom.CarShowroomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A car being added to a showroom holds the showroom FOR SHARE until it is committed, so a deletion or a rename of
+ * that showroom running at the same time waits for it and then covers the new car as well, instead of leaving it
+ * active in a deleted showroom or with the old showroom name.
+ */
+class CarCreationLockTest extends EmbeddedPostgresTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarShowroomService carShowroomService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long userId;
+
+    private long showroomId;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        userId = insertUser("lock@test.com");
+        showroomId = insertShowroom("Downtown Motors", "1111111111", userId);
+    }
+
+    @Test
+    void deletionWaitsForTheNewCarAndDeletesIt() throws Exception {
+        whileCreatingCar(() -> carShowroomService.deleteCarShowroom(showroomId));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM car WHERE NOT is_deleted", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void renameWaitsForTheNewCarAndRenamesIt() throws Exception {
+        CarShowroomDTO renamed = new CarShowroomDTO();
+        renamed.setName("Uptown Motors");
+        renamed.setCommercialRegistrationNumber("1111111111");
+        renamed.setManagerName("Manager");
+        renamed.setContactNumber("0500000000");
+        renamed.setAddress("Street");
+
+        whileCreatingCar(() -> carShowroomService.updateCarShowroom(renamed, showroomId));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT car_showroom_name FROM car", String.class))
+                .isEqualTo("Uptown Motors");
+    }
+
+    /**
+     * Creates a car and, before committing it, starts the given change of its showroom on another thread. The car
+     * is committed once the change waits for a lock; returns when the change has completed too.
+     */
+    private void whileCreatingCar(Runnable change) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> changed = new TransactionTemplate(transactionManager).execute(status -> {
+                carService.createCar(new CarDTO(null, "VIN1", "Toyota", "Corolla", 2020, BigDecimal.valueOf(10_000),
+                        showroomId, userId, null, null));
+                Future<?> started = executor.submit(change);
+                awaitLockWait();
+                return started;
+            });
+            changed.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitLockWait() {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        // pg_locks is read live, unlike pg_stat_activity which keeps its first snapshot for the transaction
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE NOT granted", Long.class) == 0) {
+            assertThat(System.currentTimeMillis()).as("Waited for the showroom change to block").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.dto.CarImportErrorDTO;
+import com.car.carshowroombackend.dto.CarImportReportDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Rejected rows of a bulk import are reported with the physical line they start on, and an over-long row is
+ * rejected on its own while the rows after it are still imported.
+ */
+class CarImportServiceImplTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private CarImportService carImportService;
+
+    private long userId;
+
+    private long showroomId;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        userId = insertUser("import@test.com");
+        showroomId = insertShowroom("Import Motors", "3333333333", userId);
+    }
+
+    @Test
+    void rejectedRowsAreReportedWithTheirPhysicalLine() throws IOException {
+        String references = "," + showroomId + "," + userId + "\n";
+        String csv = "vin,maker,model,modelYear,price,carShowroomId,userId,notes\n"
+                + "VIN1,Toyota,Corolla,2020,10000" + references.trim() + ",\"first\nsecond\"\n"
+                + "VIN2,Ford,Focus,abc,20000" + references
+                + "VIN3,Ford," + "x".repeat(2000) + ",2021,20000" + references
+                + "VIN4,Kia,Rio,2022,15000" + references;
+
+        CarImportReportDTO report = carImportService.importCars(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getTotalRows()).isEqualTo(4);
+        assertThat(report.getImportedRows()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(CarImportErrorDTO::getLine, CarImportErrorDTO::getMessage)
+                .containsExactly(tuple(4L, "Model year must be a 4-digit number"),
+                        tuple(5L, "Field longer than 1000 characters."));
+        assertThat(jdbcTemplate.queryForList("SELECT vin FROM car ORDER BY vin", String.class))
+                .containsExactly("VIN1", "VIN4");
+    }
+}
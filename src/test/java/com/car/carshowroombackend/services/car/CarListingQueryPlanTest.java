@@ -0,0 +1,230 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.entity.Car;
+import com.car.carshowroombackend.repository.CarRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.postgresql.PGStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the car listing for the filter and sort combinations the partial indexes are built for: each
+ * reads the rows from the matching (key, id) index already in order, so the plan has neither a sequential scan nor
+ * a sort, and a page stops after its rows. The plans are those of the SQL Hibernate renders for
+ * {@link CarSpecifications#listing} through the repository methods behind {@link CarServiceImpl#listCars} and
+ * {@link CarServiceImpl#scrollCars}: the data source of this context records each query with the values the
+ * driver bound to it, and the test explains that statement.
+ * <p>
+ * The planner only picks a filter's index when the value is selective; for a common value, walking the id index
+ * and skipping the other rows is cheaper and still needs no sort. An equality on the VIN matches a single row,
+ * which the plan may sort for the join. Sorted by the filtered column alone, the matching rows all share the key,
+ * so a bitmap scan of the filter's index needs no sort either. Other combinations, such as a maker filter sorted
+ * by price, are not indexed and may sort.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CarListingQueryPlanTest extends EmbeddedPostgresTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    // Queries run by the current thread while a listing is captured, as rendered by the driver with their values
+    private static final ThreadLocal<List<String>> EXECUTED = new ThreadLocal<>();
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @BeforeAll
+    void seed() {
+        clearInventory();
+        // 100k cars over 1000 owners and 100 showrooms, one in 20 deleted, then statistics for the planner.
+        // Lada and the 1995 model year are rare, one car in 500 each
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, name, user_role, enabled)
+                SELECT 'plan' || g || '@test.com', 'not-a-hash', 'User ' || g, 'USER', TRUE
+                FROM generate_series(1, 1000) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO car_showroom (name, commercial_registration_number, manager_name, contact_number,
+                                          address, user_id)
+                SELECT 'Showroom ' || g, lpad(g::text, 10, '0'), 'Manager', '0500000000', 'Street',
+                       (SELECT min(id) FROM users WHERE user_role = 'USER') + g
+                FROM generate_series(0, 99) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO car (vin, maker, model, model_year, price, car_showroom_id, car_showroom_name, user_id,
+                                 is_deleted)
+                SELECT 'VIN' || g,
+                       CASE
+                           WHEN g % 500 = 1 THEN 'Lada'
+                           ELSE (ARRAY ['Toyota', 'Ford', 'BMW', 'Kia', 'Nissan', 'Hyundai', 'Audi'])[1 + g % 7]
+                           END,
+                       'Model', CASE WHEN g % 500 = 2 THEN 1995 ELSE 2010 + g % 15 END, 10000 + (g * 37) % 60000,
+                       s.id, s.name, s.user_id, g % 20 = 0
+                FROM generate_series(1, 100000) g
+                         JOIN car_showroom s ON s.commercial_registration_number = lpad((g % 100)::text, 10, '0')
+                """);
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+        jdbcTemplate.execute("VACUUM ANALYZE car");
+    }
+
+    static Stream<Arguments> pages() {
+        return Stream.of(
+                Arguments.of(null, null, null, null, Sort.Order.asc("id"), "idx_car_active_id"),
+                Arguments.of(null, null, null, null, Sort.Order.desc("id"), "idx_car_active_id"),
+                Arguments.of(null, null, null, null, Sort.Order.asc("price"), "idx_car_active_price_id"),
+                Arguments.of(null, null, null, null, Sort.Order.desc("price"), "idx_car_active_price_id"),
+                Arguments.of(null, null, null, null, Sort.Order.asc("modelYear"), "idx_car_active_model_year_id"),
+                Arguments.of(null, null, null, null, Sort.Order.asc("maker"), "idx_car_active_maker_id"),
+                Arguments.of("Lada", null, null, null, Sort.Order.asc("id"), "idx_car_active_maker_id"),
+                Arguments.of("Lada", null, null, null, Sort.Order.asc("maker"), "idx_car_active_maker_id"),
+                Arguments.of("Toyota", null, null, null, Sort.Order.asc("id"), null),
+                Arguments.of(null, null, null, 1995, Sort.Order.asc("id"), "idx_car_active_model_year_id"),
+                Arguments.of(null, null, null, 2020, Sort.Order.asc("id"), null),
+                Arguments.of(null, null, "VIN4242", null, Sort.Order.asc("id"), "idx_car_active_vin"),
+                Arguments.of(null, "Showroom 42", null, null, Sort.Order.asc("id"), "idx_car_active_showroom_name_id"),
+                Arguments.of("Toyota", null, null, 2020, Sort.Order.asc("id"), "idx_car_active_maker_model_year_id"));
+    }
+
+    @ParameterizedTest(name = "maker {0}, showroom {1}, vin {2}, year {3} by {4}")
+    @MethodSource("pages")
+    void pageReadsTheIndexInOrder(String maker, String carShowroomName, String vin, Integer modelYear,
+                                  Sort.Order order, String index) {
+        List<String> executed = capture(() -> carRepository.findAllDto(
+                CarSpecifications.listing(maker, carShowroomName, vin, modelYear),
+                PageRequest.of(0, PAGE_SIZE, Sort.by(order))));
+
+        assertReadsInOrder(explain(executed.get(0)), index);
+    }
+
+    static Stream<Arguments> slices() {
+        return Stream.of(
+                Arguments.of(Sort.Order.asc("id"), "idx_car_active_id"),
+                Arguments.of(Sort.Order.asc("price"), "idx_car_active_price_id"),
+                Arguments.of(Sort.Order.asc("modelYear"), "idx_car_active_model_year_id"));
+    }
+
+    @ParameterizedTest(name = "after a cursor by {0}")
+    @MethodSource("slices")
+    void sliceAfterACursorReadsTheIndexInOrder(Sort.Order order, String index) {
+        CarDTO last = new CarDTO(50_000L, "VIN50000", "Toyota", "Model", 2018, BigDecimal.valueOf(40_000), null,
+                null, null, null);
+        Specification<Car> spec = CarSpecifications.listing(null, null, null, null)
+                .and(CarSpecifications.after(CarCursor.after(last, order)));
+
+        List<String> executed = capture(() -> carRepository.findAllDto(spec, CarCursor.sortFor(order),
+                PAGE_SIZE + 1));
+
+        assertReadsInOrder(explain(executed.get(0)), index);
+    }
+
+    static Stream<Arguments> counts() {
+        // A VIN matches a single car, so its page is never full and the count is not run
+        return Stream.of(
+                Arguments.of("Toyota", null, null),
+                Arguments.of(null, null, 2020),
+                Arguments.of(null, "Showroom 42", null),
+                Arguments.of("Toyota", null, 2020));
+    }
+
+    @ParameterizedTest(name = "maker {0}, showroom {1}, year {2}")
+    @MethodSource("counts")
+    void filteredCountUsesAnIndex(String maker, String carShowroomName, Integer modelYear) {
+        List<String> executed = capture(() -> carRepository.findAllDto(
+                CarSpecifications.listing(maker, carShowroomName, null, modelYear),
+                PageRequest.of(0, PAGE_SIZE, Sort.by("id"))));
+
+        assertThat(executed).hasSize(2);
+        assertThat(executed.get(1)).containsIgnoringCase("count(");
+        assertThat(explain(executed.get(1))).noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    private static void assertReadsInOrder(List<String> plan, String index) {
+        // A null index accepts whichever of the car indexes the planner finds cheaper
+        String expected = index != null ? index + " " : "idx_car_active_";
+
+        assertThat(plan).noneMatch(line -> line.contains("Seq Scan"));
+        assertThat(plan).noneMatch(line -> line.matches("(->\\s+)?(Incremental )?Sort\\s+\\(cost.*")
+                && !line.contains(" rows=1 "));
+        assertThat(plan).anyMatch(line -> line.contains("Index Scan ") && line.contains(expected));
+    }
+
+    private static List<String> capture(Runnable listing) {
+        EXECUTED.set(new ArrayList<>());
+        try {
+            listing.run();
+            return EXECUTED.get();
+        } finally {
+            EXECUTED.remove();
+        }
+    }
+
+    private List<String> explain(String sql) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class).stream().map(String::trim).toList();
+    }
+
+    /**
+     * Wraps the data source so the queries Hibernate prepares are recorded, with the values bound to them, when
+     * they are executed by a thread inside {@link #capture(Runnable)}.
+     */
+    @TestConfiguration
+    static class CapturingDataSourceConfiguration {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? capturing(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        private static <T> T capturing(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        List<String> executed = EXECUTED.get();
+                        if (executed != null && target instanceof PreparedStatement statement
+                                && method.getName().equals("executeQuery")) {
+                            // The driver renders the statement with its bound values inlined
+                            executed.add(statement.unwrap(PGStatement.class).toString());
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                            return capturing(Connection.class, connection);
+                        }
+                        if (result instanceof PreparedStatement statement
+                                && method.getName().equals("prepareStatement")) {
+                            return capturing(PreparedStatement.class, statement);
+                        }
+                        return result;
+                    }));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.car.carshowroombackend.services.car;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.configs.RequestSqlCounters;
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.dto.CarSliceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The car listing reads a page in a fixed number of statements whatever its size: one projecting the rows into
+ * DTOs with their showroom and user names, plus the count when the page does not tell the total. No entity is
+ * loaded, so neither the showrooms nor the users are fetched one by one.
+ * Statements are counted on the test thread through the Hibernate statistics.
+ */
+class CarListingStatementCountTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private CarService carService;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        // Every car in its own showroom owned by its own user, the worst case for per-row loading
+        for (int i = 0; i < 30; i++) {
+            long userId = insertUser("listing" + i + "@test.com");
+            long showroomId = insertShowroom("Showroom " + i, String.format("%010d", i), userId);
+            insertCar("VIN" + i, i % 2 == 0 ? "Toyota" : "Ford", 2010 + i % 10, BigDecimal.valueOf(10_000 + i),
+                    showroomId);
+        }
+    }
+
+    @Test
+    void fullPageTakesTheQueryAndTheCount() {
+        RequestSqlCounters counters = RequestSqlCounters.current();
+        counters.reset();
+
+        Page<CarDTO> page = carService.listCars(PageRequest.of(0, 20, Sort.by("id")), null, null, null, null);
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        assertThat(page.getContent()).allSatisfy(car -> {
+            assertThat(car.getCarShowroomName()).startsWith("Showroom ");
+            assertThat(car.getUserName()).startsWith("User ");
+        });
+        assertThat(counters.statements()).isEqualTo(2);
+        assertThat(counters.entities()).isZero();
+    }
+
+    @Test
+    void partialFirstPageSkipsTheCount() {
+        RequestSqlCounters counters = RequestSqlCounters.current();
+        counters.reset();
+
+        Page<CarDTO> page = carService.listCars(PageRequest.of(0, 20, Sort.by("id")), "Toyota", null, null, null);
+
+        assertThat(page.getContent()).hasSize(15);
+        assertThat(page.getTotalElements()).isEqualTo(15);
+        assertThat(counters.statements()).isEqualTo(1);
+        assertThat(counters.entities()).isZero();
+    }
+
+    @Test
+    void keysetSliceTakesOneStatement() {
+        RequestSqlCounters counters = RequestSqlCounters.current();
+        counters.reset();
+
+        CarSliceDTO slice = carService.scrollCars(null, PageRequest.of(0, 20, Sort.by("price")), null, null, null,
+                null);
+
+        assertThat(slice.getContent()).hasSize(20);
+        assertThat(slice.getHasNext()).isTrue();
+        assertThat(counters.statements()).isEqualTo(1);
+        assertThat(counters.entities()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.car.carshowroombackend.services.car;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Record splitting, physical line numbers and the length limits of the CSV reader.
+ */
+class CsvRecordReaderTest {
+
+    private static final int MAX_FIELD = 10;
+
+    private static final int MAX_RECORD = 20;
+
+    @Test
+    void readsQuotedFieldsAndCountsTheirLineBreaks() throws IOException {
+        CsvRecordReader reader = reader("a,\"b,\"\"c\"\"\"\r\n\"multi\nline\",x\n\nlast");
+
+        assertThat(reader.next()).containsExactly("a", "b,\"c\"");
+        assertThat(reader.line()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("multi\nline", "x");
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("");
+        assertThat(reader.line()).isEqualTo(4);
+        assertThat(reader.next()).containsExactly("last");
+        assertThat(reader.line()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void longFieldIsRejectedAndTheNextRecordStillRead() throws IOException {
+        CsvRecordReader reader = reader("ok,1\n" + "x".repeat(11) + ",2\n\"" + "y\n".repeat(6) + "\",3\nok,4\n");
+
+        assertThat(reader.next()).containsExactly("ok", "1");
+        assertThatThrownBy(reader::next).hasMessage("Field longer than 10 characters.");
+        assertThat(reader.line()).isEqualTo(2);
+        assertThatThrownBy(reader::next).hasMessage("Field longer than 10 characters.");
+        assertThat(reader.line()).isEqualTo(3);
+        assertThat(reader.next()).containsExactly("ok", "4");
+        assertThat(reader.line()).isEqualTo(10);
+    }
+
+    @Test
+    void longRecordIsRejectedEvenWithShortFields() throws IOException {
+        CsvRecordReader reader = reader("a,".repeat(30) + "a\nok\n" + ",".repeat(100) + "\nok\n");
+
+        assertThatThrownBy(reader::next).hasMessage("Record longer than 20 characters.");
+        assertThat(reader.next()).containsExactly("ok");
+        assertThatThrownBy(reader::next).hasMessage("Record longer than 20 characters.");
+        assertThat(reader.next()).containsExactly("ok");
+        assertThat(reader.line()).isEqualTo(4);
+    }
+
+    @Test
+    void strayQuoteIsRejectedWithoutBufferingTheRestOfTheInput() throws IOException {
+        CsvRecordReader reader = reader("ok,1\nbad,\"2\n" + "more,3\n".repeat(10_000));
+
+        assertThat(reader.next()).containsExactly("ok", "1");
+        assertThatThrownBy(reader::next).hasMessage("Unterminated quoted field.");
+        assertThat(reader.line()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    private static CsvRecordReader reader(String csv) {
+        Reader in = new StringReader(csv);
+        return new CsvRecordReader(in, MAX_FIELD, MAX_RECORD);
+    }
+}
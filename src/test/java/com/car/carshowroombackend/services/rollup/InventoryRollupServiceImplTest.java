@@ -0,0 +1,108 @@
+package com.car.carshowroombackend.services.rollup;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.dto.InventoryRollupDTO;
+import com.car.carshowroombackend.enums.RollupGranularity;
+import com.car.carshowroombackend.events.CarsImportedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Flushing of the rollup deltas: the hours of a day land in one daily bucket even when they are flushed together,
+ * which the driver turns into a single multi-row upsert, and a failed flush keeps its deltas for the next one.
+ * The service is built on the test database with a clock set to the hour of each delta and a JdbcTemplate spy
+ * which fails the upsert on demand.
+ */
+class InventoryRollupServiceImplTest extends EmbeddedPostgresTest {
+
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2024, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Clock clock = mock(Clock.class);
+
+    private JdbcTemplate rollupJdbcTemplate;
+
+    private InventoryRollupServiceImpl rollupService;
+
+    private long showroomId;
+
+    @BeforeEach
+    void seed() {
+        rollupJdbcTemplate = spy(jdbcTemplate);
+        rollupService = new InventoryRollupServiceImpl(rollupJdbcTemplate, transactionTemplate, clock);
+        clearInventory();
+        long userId = insertUser("rollup@test.com");
+        showroomId = insertShowroom("Rollup", "0000000001", userId);
+        insertCar("VIN1", "Toyota", 2020, BigDecimal.valueOf(10_000), showroomId);
+        insertCar("VIN2", "Ford", 2021, BigDecimal.valueOf(20_000), showroomId);
+    }
+
+    @Test
+    void hoursOfOneDayMergeIntoOneDailyRow() {
+        importAt(DAY.plusHours(9), 1);
+        importAt(DAY.plusHours(14), 1);
+
+        rollupService.flush();
+
+        List<InventoryRollupDTO> hours = rollups(RollupGranularity.HOUR);
+        assertThat(hours).extracting(InventoryRollupDTO::getBucketStart)
+                .containsExactly(DAY.plusHours(9), DAY.plusHours(14));
+        assertThat(hours).extracting(InventoryRollupDTO::getCarsAdded).containsExactly(1, 1);
+
+        List<InventoryRollupDTO> days = rollups(RollupGranularity.DAY);
+        assertThat(days).hasSize(1);
+        assertThat(days.get(0).getBucketStart()).isEqualTo(DAY);
+        assertThat(days.get(0).getCarsAdded()).isEqualTo(2);
+        assertThat(days.get(0).getActiveCars()).isEqualTo(2);
+        assertThat(days.get(0).getListedValue()).isEqualByComparingTo("30000");
+    }
+
+    @Test
+    void failedFlushKeepsItsDeltas() {
+        importAt(DAY.plusHours(9), 2);
+
+        doThrow(new DataAccessResourceFailureException("Connection lost"))
+                .doCallRealMethod()
+                .when(rollupJdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThatThrownBy(rollupService::flush).isInstanceOf(DataAccessResourceFailureException.class);
+        importAt(DAY.plusHours(10), 1);
+
+        rollupService.flush();
+
+        assertThat(rollups(RollupGranularity.HOUR)).extracting(InventoryRollupDTO::getCarsAdded)
+                .containsExactly(2, 1);
+        assertThat(rollups(RollupGranularity.DAY)).extracting(InventoryRollupDTO::getCarsAdded)
+                .containsExactly(3);
+    }
+
+    private void importAt(OffsetDateTime time, long cars) {
+        when(clock.instant()).thenReturn(time.toInstant());
+        rollupService.onCarsImported(new CarsImportedEvent(Map.of(showroomId, cars)));
+    }
+
+    private List<InventoryRollupDTO> rollups(RollupGranularity granularity) {
+        return rollupService.getRollups(granularity, DAY, DAY.plusDays(1), showroomId);
+    }
+}
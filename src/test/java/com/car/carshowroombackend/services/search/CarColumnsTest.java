@@ -0,0 +1,166 @@
+package com.car.carshowroombackend.services.search;
+
+import com.car.carshowroombackend.dto.CarDTO;
+import com.car.carshowroombackend.enums.AutocompleteField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Paging, facet counting, fuzzy ranking and the in-place changes of the column store, without a database.
+ */
+class CarColumnsTest {
+
+    private static final long DOWNTOWN = 20;
+
+    private static final long TOYOTA_TOWN = 10;
+
+    private CarColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new CarColumns(List.of(BigDecimal.valueOf(20_000), BigDecimal.valueOf(40_000)));
+    }
+
+    @Test
+    void pageMergesRowsAppendedOutOfIdOrder() {
+        add(1, "Toyota", "Corolla", 2020, 10_000, DOWNTOWN);
+        add(2, "Ford", "Focus", 2021, 25_000, DOWNTOWN);
+        add(5, "Toyota", "Camry", 2020, 45_000, DOWNTOWN);
+        add(6, "Ford", "Fiesta", 2019, 15_000, DOWNTOWN);
+        // Created on another node and replayed after the later ids
+        add(4, "Kia", "Rio", 2022, 12_000, DOWNTOWN);
+        add(3, "Kia", "Ceed", 2022, 18_000, DOWNTOWN);
+
+        assertThat(columns.outOfOrderCount()).isEqualTo(2);
+        assertThat(ids(columns.search(null, null, null, null, true, 0, 10))).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(ids(columns.search(null, null, null, null, false, 0, 10))).containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+        assertThat(ids(columns.search(null, null, null, null, true, 2, 2))).containsExactly(3L, 4L);
+        assertThat(ids(columns.search(null, null, null, null, false, 1, 3))).containsExactly(5L, 4L, 3L);
+        assertThat(ids(columns.search("Kia", null, null, null, false, 0, 10))).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void addingACarAgainIsIgnored() {
+        add(1, "Toyota", "Corolla", 2020, 10_000, DOWNTOWN);
+        add(1, "Toyota", "Corolla", 2020, 10_000, DOWNTOWN);
+
+        assertThat(columns.search(null, null, null, null, true, 0, 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    void unfilteredAndFilteredHitsCountTheSameFacets() {
+        add(1, "Toyota", "Corolla", 2020, 10_000, DOWNTOWN);
+        add(2, "Ford", "Focus", 2021, 25_000, DOWNTOWN);
+        add(3, "Toyota", "Camry", 2021, 45_000, TOYOTA_TOWN);
+        add(4, "Toyota", "Yaris", 2018, 19_999, TOYOTA_TOWN);
+
+        CarSearchHits all = columns.search(null, null, null, null, null, 0, 10);
+        assertThat(all.content()).isNull();
+        assertThat(all.total()).isEqualTo(4);
+        assertThat(all.makers()).containsExactly(entry("Toyota", 3L), entry("Ford", 1L));
+        assertThat(all.modelYears()).containsExactly(entry(2021, 2L), entry(2020, 1L), entry(2018, 1L));
+        assertThat(all.priceRanges()).containsExactly(2, 1, 1);
+
+        CarSearchHits toyotas = columns.search("Toyota", null, null, null, true, 0, 10);
+        assertThat(toyotas.total()).isEqualTo(3);
+        assertThat(toyotas.makers()).containsExactly(entry("Toyota", 3L));
+        assertThat(toyotas.modelYears()).containsExactly(entry(2021, 1L), entry(2020, 1L), entry(2018, 1L));
+        assertThat(toyotas.priceRanges()).containsExactly(2, 0, 1);
+
+        CarSearchHits town = columns.search(null, "Toyota Town", null, 2021, true, 0, 10);
+        assertThat(ids(town)).containsExactly(3L);
+        assertThat(town.modelYears()).containsExactly(entry(2021, 1L));
+
+        assertThat(ids(columns.search(null, null, "VIN2", null, true, 0, 10))).containsExactly(2L);
+        assertThat(columns.search("Lada", null, null, null, true, 0, 10).total()).isZero();
+        assertThat(columns.search(null, null, null, 1990, true, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void removeDropsTheCarFromEveryPostingAndCount() {
+        add(1, "Toyota", "Corolla", 2020, 10_000, DOWNTOWN);
+        add(2, "Ford", "Focus", 2021, 25_000, DOWNTOWN);
+        add(3, "Ford", "Fiesta", 2021, 15_000, TOYOTA_TOWN);
+        add(0, "Kia", "Rio", 2019, 12_000, TOYOTA_TOWN);
+
+        columns.remove(2);
+        columns.remove(0);
+        columns.remove(2);
+        columns.remove(42);
+
+        assertThat(columns.outOfOrderCount()).isZero();
+        CarSearchHits all = columns.search(null, null, null, null, true, 0, 10);
+        assertThat(ids(all)).containsExactly(1L, 3L);
+        assertThat(all.makers()).containsExactly(entry("Toyota", 1L), entry("Ford", 1L));
+        assertThat(all.modelYears()).containsExactly(entry(2021, 1L), entry(2020, 1L));
+        assertThat(all.priceRanges()).containsExactly(2, 0, 0);
+        assertThat(ids(columns.search("Ford", null, null, null, true, 0, 10))).containsExactly(3L);
+        assertThat(columns.search(null, null, "VIN2", null, true, 0, 10).total()).isZero();
+        assertThat(columns.fuzzySearch("kia", 0.3f, 0, 10).total()).isZero();
+        assertThat(columns.complete(AutocompleteField.MAKER, "k", 10)).isEmpty();
+        assertThat(columns.complete(AutocompleteField.MAKER, "f", 10))
+                .containsExactly(new PrefixTrie.Completion("Ford", 1));
+    }
+
+    @Test
+    void fuzzySearchRanksEachCarByItsBestMatch() {
+        add(1, "Toyota", "Corolla", 2020, 10_000, DOWNTOWN);
+        add(2, "Ford", "Focus", 2021, 25_000, TOYOTA_TOWN);
+        add(3, "Toyota", "Camry", 2021, 45_000, TOYOTA_TOWN);
+        add(4, "Ford", "Fiesta", 2019, 15_000, DOWNTOWN);
+
+        // The maker matches exactly, the showroom only by prefix: car 3 matches both and counts once
+        CarSearchHits hits = columns.fuzzySearch("toyota", 0.3f, 0, 10);
+        assertThat(ids(hits)).containsExactly(1L, 3L, 2L);
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.makers()).containsExactly(entry("Toyota", 2L), entry("Ford", 1L));
+        assertThat(hits.modelYears()).containsExactly(entry(2021, 2L), entry(2020, 1L));
+
+        assertThat(ids(columns.fuzzySearch("toyota", 0.3f, 1, 1))).containsExactly(3L);
+        assertThat(ids(columns.fuzzySearch("toyota", 0.3f, 2, 5))).containsExactly(2L);
+        assertThat(ids(columns.fuzzySearch("toyota", 0.3f, 3, 5))).isEmpty();
+        // A typo still finds the maker, and the model column is searched too
+        assertThat(ids(columns.fuzzySearch("toyta", 0.3f, 0, 10))).startsWith(1L, 3L);
+        assertThat(ids(columns.fuzzySearch("fiesta", 0.3f, 0, 10))).containsExactly(4L);
+        assertThat(columns.fuzzySearch("zzz", 0.3f, 0, 10).total()).isZero();
+        assertThat(columns.fuzzySearch("", 0.3f, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void renameShowroomUpdatesFiltersPagesSearchAndCompletions() {
+        add(1, "Toyota", "Corolla", 2020, 10_000, DOWNTOWN);
+        add(2, "Ford", "Focus", 2021, 25_000, DOWNTOWN);
+        add(3, "Ford", "Fiesta", 2021, 15_000, TOYOTA_TOWN);
+        columns.remove(2);
+
+        columns.renameShowroom(DOWNTOWN, "Uptown Cars");
+        columns.renameShowroom(99, "Unknown");
+
+        assertThat(columns.search(null, "Downtown", null, null, true, 0, 10).total()).isZero();
+        CarSearchHits renamed = columns.search(null, "Uptown Cars", null, null, true, 0, 10);
+        assertThat(ids(renamed)).containsExactly(1L);
+        assertThat(renamed.content().get(0).getCarShowroomName()).isEqualTo("Uptown Cars");
+        assertThat(ids(columns.fuzzySearch("uptown", 0.3f, 0, 10))).containsExactly(1L);
+        assertThat(columns.fuzzySearch("downtown", 0.3f, 0, 10).total()).isZero();
+        // Only the active car of the showroom moves to the new name
+        assertThat(columns.complete(AutocompleteField.SHOWROOM, "up", 10))
+                .containsExactly(new PrefixTrie.Completion("Uptown Cars", 1));
+        assertThat(columns.complete(AutocompleteField.SHOWROOM, "down", 10)).isEmpty();
+    }
+
+    private void add(long id, String maker, String model, int modelYear, long price, long showroomId) {
+        String showroom = showroomId == TOYOTA_TOWN ? "Toyota Town" : "Downtown";
+        columns.add(new CarDTO(id, "VIN" + id, maker, model, modelYear, BigDecimal.valueOf(price), showroomId,
+                100 + id, "Owner " + id, showroom));
+    }
+
+    private static List<Long> ids(CarSearchHits hits) {
+        return hits.content().stream().map(CarDTO::getId).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.car.carshowroombackend.services.search;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.configs.CacheConfiguration;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The search index follows the changes other nodes announce on the invalidation bus. The other node is played
+ * by writing the rows directly and applying the notification it would have sent.
+ */
+class CarSearchIndexTest extends EmbeddedPostgresTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private CarSearchIndex carSearchIndex;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    private long showroomId;
+
+    @BeforeEach
+    void seed() throws InterruptedException {
+        clearInventory();
+        long userId = insertUser("index@test.com");
+        showroomId = insertShowroom("Downtown", "0000000077", userId);
+        insertCar("VIN1", "Toyota", 2020, BigDecimal.valueOf(10_000), showroomId);
+        insertCar("VIN2", "Ford", 2021, BigDecimal.valueOf(20_000), showroomId);
+        carSearchIndex.requestRebuild();
+        awaitTotal("Downtown", 2);
+    }
+
+    @Test
+    void showroomRenamedOnAnotherNodeIsRenamedInTheIndex() throws InterruptedException {
+        jdbcTemplate.update("UPDATE car_showroom SET name = 'Uptown' WHERE id = ?", showroomId);
+        jdbcTemplate.update("UPDATE car SET car_showroom_name = 'Uptown' WHERE car_showroom_id = ?", showroomId);
+
+        cacheInvalidationService.apply("{\"node\":\"other-node\",\"keys\":{\"" + CacheConfiguration.SHOWROOM_NAMES
+                + "\":[" + showroomId + "]}}");
+
+        awaitTotal("Uptown", 2);
+        assertThat(carSearchIndex.search(null, "Downtown", null, null, true, 0, 10).total()).isZero();
+    }
+
+    private void awaitTotal(String showroomName, long total) throws InterruptedException {
+        await(() -> {
+            CarSearchHits hits = carSearchIndex.search(null, showroomName, null, null, null, 0, 0);
+            return hits != null && hits.total() == total;
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("Waited for the search index").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.car.carshowroombackend.services.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Best first completion of the prefix trie and its counts, for short, empty and non-ASCII prefixes.
+ */
+class PrefixTrieTest {
+
+    private PrefixTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new PrefixTrie();
+        trie.adjust("Toyota", 50);
+        trie.adjust("Tesla", 20);
+        trie.adjust("Tata", 5);
+        trie.adjust("Mercedes-Benz", 30);
+        trie.adjust("Škoda", 10);
+    }
+
+    @Test
+    void completesMostFrequentFirstUpToTheLimit() {
+        assertThat(trie.complete("t", 2)).containsExactly(
+                new PrefixTrie.Completion("Toyota", 50), new PrefixTrie.Completion("Tesla", 20));
+        assertThat(trie.complete("T", 10)).extracting(PrefixTrie.Completion::value)
+                .containsExactly("Toyota", "Tesla", "Tata");
+        assertThat(trie.complete("toyota", 10)).containsExactly(new PrefixTrie.Completion("Toyota", 50));
+        assertThat(trie.complete("toyotas", 10)).isEmpty();
+    }
+
+    @Test
+    void blankPrefixCompletesFromTheTop() {
+        assertThat(trie.complete("", 3)).extracting(PrefixTrie.Completion::value)
+                .containsExactly("Toyota", "Mercedes-Benz", "Tesla");
+        assertThat(trie.complete(" - ", 1)).extracting(PrefixTrie.Completion::value).containsExactly("Toyota");
+    }
+
+    @Test
+    void keysAreNormalizedButTheOriginalSpellingIsReturned() {
+        assertThat(trie.complete("merc", 10)).containsExactly(new PrefixTrie.Completion("Mercedes-Benz", 30));
+        assertThat(trie.complete("mercedes b", 10)).extracting(PrefixTrie.Completion::value)
+                .containsExactly("Mercedes-Benz");
+        assertThat(trie.complete("sk", 10)).containsExactly(new PrefixTrie.Completion("Škoda", 10));
+        assertThat(trie.complete("Šk", 10)).containsExactly(new PrefixTrie.Completion("Škoda", 10));
+    }
+
+    @Test
+    void countsFollowTheAdjustmentsAndZeroIsNotCompleted() {
+        trie.adjust("Toyota", -45);
+        trie.adjust("Tata", -10);
+        trie.adjust("Tesla", 0);
+        trie.adjust("", 5);
+
+        assertThat(trie.complete("t", 10)).containsExactly(
+                new PrefixTrie.Completion("Tesla", 20), new PrefixTrie.Completion("Toyota", 5));
+
+        trie.adjust("Toyota", -5);
+        trie.adjust("Tesla", -20);
+        assertThat(trie.complete("t", 10)).isEmpty();
+        assertThat(trie.complete("", 10)).extracting(PrefixTrie.Completion::value)
+                .containsExactly("Mercedes-Benz", "Škoda");
+    }
+}
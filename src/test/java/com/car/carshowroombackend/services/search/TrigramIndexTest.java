@@ -0,0 +1,92 @@
+package com.car.carshowroombackend.services.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Normalization and scoring of the trigram index, including the short, empty and non-ASCII inputs users type.
+ */
+class TrigramIndexTest {
+
+    private static final float THRESHOLD = 0.3f;
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.add("Toyota", 0);
+        index.add("BMW", 1);
+        index.add("Mercedes-Benz", 2);
+        index.add("Škoda", 3);
+        index.add("Тойота", 4);
+        index.add("Kia", 5);
+    }
+
+    @Test
+    void normalizeFoldsCaseAccentsAndPunctuation() {
+        assertThat(TrigramIndex.normalize("  Mercedes-Benz! ")).isEqualTo("mercedes benz");
+        assertThat(TrigramIndex.normalize("Škoda Citroën")).isEqualTo("skoda citroen");
+        // Other scripts are kept, with their combining marks folded like the Latin ones
+        assertThat(TrigramIndex.normalize("Тойота")).isEqualTo("тоиота");
+        assertThat(TrigramIndex.normalize("--- ")).isEmpty();
+        assertThat(TrigramIndex.normalize("")).isEmpty();
+    }
+
+    @Test
+    void exactMatchScoresOneAndTyposStayAboveTheThreshold() {
+        assertThat(index.search("toyota", THRESHOLD)).containsEntry(0, 1f);
+        assertThat(index.search("TOYOTA", THRESHOLD)).containsEntry(0, 1f);
+        assertThat(index.search("toyta", THRESHOLD)).containsKey(0).doesNotContainKey(4);
+        assertThat(index.search("volvo", THRESHOLD)).isEmpty();
+    }
+
+    @Test
+    void prefixesOfAnyWordMatch() {
+        Map<Integer, Float> scores = index.search("toyo", THRESHOLD);
+        assertThat(scores.get(0)).isCloseTo(0.8f + 0.2f * 4 / 6, within(1e-6f));
+        assertThat(index.search("benz", THRESHOLD)).containsKey(2);
+    }
+
+    @Test
+    void oneAndTwoCharacterQueriesMatchByPrefix() {
+        assertThat(index.search("k", THRESHOLD)).containsOnlyKeys(5);
+        assertThat(index.search("bm", THRESHOLD).get(1)).isCloseTo(0.8f + 0.2f * 2 / 3, within(1e-6f));
+        assertThat(index.search("x", THRESHOLD)).isEmpty();
+    }
+
+    @Test
+    void emptyInputIsNeverIndexedNorMatched() {
+        index.add("", 6);
+        index.add(" - ", 7);
+
+        assertThat(index.search("", THRESHOLD)).isEmpty();
+        assertThat(index.search("   ", THRESHOLD)).isEmpty();
+        assertThat(index.search("-", THRESHOLD)).isEmpty();
+    }
+
+    @Test
+    void nonAsciiValuesMatchTheirFoldedSpelling() {
+        assertThat(index.search("skoda", THRESHOLD)).containsEntry(3, 1f);
+        assertThat(index.search("Škoda", THRESHOLD)).containsEntry(3, 1f);
+        assertThat(index.search("тойота", THRESHOLD)).containsEntry(4, 1f);
+        assertThat(index.search("той", THRESHOLD)).containsOnlyKeys(4);
+    }
+
+    @Test
+    void valuesSharedByCodesScoreEveryCodeUntilRemoved() {
+        index.add("toyota", 8);
+
+        assertThat(index.search("toyota", THRESHOLD)).containsEntry(0, 1f).containsEntry(8, 1f);
+
+        index.remove("Toyota", 0);
+        assertThat(index.search("toyota", THRESHOLD)).containsOnlyKeys(8);
+        index.remove("unknown", 8);
+        assertThat(index.search("toyota", THRESHOLD)).containsOnlyKeys(8);
+    }
+}
@@ -0,0 +1,68 @@
+package com.car.carshowroombackend.services.showroom;
+
+import com.car.carshowroombackend.EmbeddedPostgresTest;
+import com.car.carshowroombackend.configs.RequestSqlCounters;
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deleting a showroom locks it, then soft deletes it and its active cars, and returns it with its owner's name, in
+ * a single statement: the showroom is not loaded again once deleted.
+ */
+class CarShowroomDeleteTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private CarShowroomService carShowroomService;
+
+    private long showroomId;
+
+    @BeforeEach
+    void seed() {
+        clearInventory();
+        long userId = insertUser("delete@test.com");
+        showroomId = insertShowroom("Downtown Motors", "1234567890", userId);
+        insertCar("VIN1", "Toyota", 2020, BigDecimal.valueOf(10_000), showroomId);
+        insertCar("VIN2", "Ford", 2021, BigDecimal.valueOf(20_000), showroomId);
+    }
+
+    @Test
+    void deleteReturnsTheShowroomFromTheLockAndOneStatement() {
+        RequestSqlCounters counters = RequestSqlCounters.current();
+        counters.reset();
+
+        CarShowroomDTO deleted = carShowroomService.deleteCarShowroom(showroomId);
+
+        assertThat(deleted.getId()).isEqualTo(showroomId);
+        assertThat(deleted.getName()).isEqualTo("Downtown Motors");
+        assertThat(deleted.getCommercialRegistrationNumber()).isEqualTo("1234567890");
+        assertThat(deleted.getUserName()).isEqualTo("User delete@test.com");
+        assertThat(counters.statements()).isEqualTo(2);
+        assertThat(counters.entities()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM car WHERE NOT is_deleted", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void deletingAgainStillReturnsTheShowroom() {
+        carShowroomService.deleteCarShowroom(showroomId);
+
+        CarShowroomDTO deleted = carShowroomService.deleteCarShowroom(showroomId);
+
+        assertThat(deleted.getName()).isEqualTo("Downtown Motors");
+        assertThat(deleted.getUserName()).isEqualTo("User delete@test.com");
+    }
+
+    @Test
+    void unknownShowroomIsNotFound() {
+        assertThatThrownBy(() -> carShowroomService.deleteCarShowroom(showroomId + 1000))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.car.carshowroombackend.services.showroom;
+
+import com.car.carshowroombackend.configs.CacheConfiguration;
+import com.car.carshowroombackend.dto.CarShowroomDTO;
+import com.car.carshowroombackend.repository.CarRepository;
+import com.car.carshowroombackend.repository.CarShowroomRepository;
+import com.car.carshowroombackend.repository.CarShowroomRepositoryCustom.SoftDeletedShowroom;
+import com.car.carshowroombackend.repository.UserRepository;
+import com.car.carshowroombackend.services.cache.CacheInvalidationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * What a showroom deletion announces to the other nodes: the cascaded cars one by one while there are few of
+ * them, and a reload of every car past that, instead of a notification per car.
+ */
+class CarShowroomInvalidationTest {
+
+    private static final long SHOWROOM_ID = 7;
+
+    private final CarShowroomRepository showroomRepository = mock(CarShowroomRepository.class);
+
+    private final CacheInvalidationService cacheInvalidationService = mock(CacheInvalidationService.class);
+
+    private final CarShowroomServiceImpl service = new CarShowroomServiceImpl(showroomRepository,
+            mock(UserRepository.class), mock(CarRepository.class), cacheInvalidationService,
+            mock(ApplicationEventPublisher.class), mock(CarShowroomDropdown.class));
+
+    @Test
+    void smallCascadePublishesEachCar() {
+        deleteWithCars(3);
+
+        verify(cacheInvalidationService, times(3)).publish(eq(CacheConfiguration.CARS), any());
+        verify(cacheInvalidationService, never()).publishAll(CacheConfiguration.CARS);
+        verify(cacheInvalidationService).publish(CacheConfiguration.CAR_SHOWROOMS, SHOWROOM_ID);
+    }
+
+    @Test
+    void largeCascadeReloadsAllCars() {
+        deleteWithCars(5000);
+
+        verify(cacheInvalidationService).publishAll(CacheConfiguration.CARS);
+        verify(cacheInvalidationService, never()).publish(eq(CacheConfiguration.CARS), any());
+        verify(cacheInvalidationService).publish(CacheConfiguration.CAR_SHOWROOMS, SHOWROOM_ID);
+    }
+
+    private void deleteWithCars(int cars) {
+        CarShowroomDTO showroom = new CarShowroomDTO();
+        showroom.setId(SHOWROOM_ID);
+        List<Long> carIds = LongStream.rangeClosed(1, cars).boxed().toList();
+        when(showroomRepository.softDeleteCascade(SHOWROOM_ID))
+                .thenReturn(Optional.of(new SoftDeletedShowroom(showroom, true, carIds)));
+
+        service.deleteCarShowroom(SHOWROOM_ID);
+    }
+}
@@ -0,0 +1,62 @@
+package com.car.carshowroombackend.services.stats;
+
+import com.car.carshowroombackend.dto.StatsDTO;
+import com.car.carshowroombackend.events.CarCreatedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A reconciliation moves the counters to the database values while keeping the events applied during its query.
+ */
+class StatsServiceImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final StatsServiceImpl service = new StatsServiceImpl(jdbcTemplate);
+
+    @Test
+    void carCreatedDuringTheQueryIsKept() throws Exception {
+        answerAggregate(10, () -> service.onCarCreated(new CarCreatedEvent(null)));
+        service.reconcile();
+
+        StatsDTO stats = service.getStats();
+        assertThat(stats.getTotalCars()).isEqualTo(11);
+        assertThat(stats.getActiveCars()).isEqualTo(11);
+    }
+
+    @Test
+    void driftIsCorrected() throws Exception {
+        answerAggregate(10, () -> {
+        });
+        service.onCarCreated(new CarCreatedEvent(null));
+        service.onCarCreated(new CarCreatedEvent(null));
+        service.reconcile();
+
+        assertThat(service.getStats().getTotalCars()).isEqualTo(10);
+    }
+
+    /**
+     * Answers the aggregate query with the given value in every column, running the action before the row is read
+     * as if its event landed while the query ran.
+     */
+    private void answerAggregate(long value, Runnable duringQuery) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(anyInt())).thenReturn(value);
+        doAnswer(invocation -> {
+            duringQuery.run();
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+}